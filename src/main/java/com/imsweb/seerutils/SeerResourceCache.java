@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache for the decompressed content of resources (typically the reference tables bundled in a jar file), so each resource is read and
+ * decompressed only once per process.
+ * <p/>
+ * The resources are decompressed based on their content (or their name), the same way {@link SeerUtils#createInputStream(InputStream, String)}
+ * does. The cached content is handed out as read-only views that share the cached data, so getting a resource from the cache doesn't copy it.
+ * The total size of the cached content is bounded; the least recently used resources are evicted first, and a resource larger than the entire
+ * budget is returned but never cached.
+ * <p/>
+ * The cache can be used by several threads; a resource requested by several threads at the same time is only loaded once. The shared instance
+ * (see {@link #getInstance()}) should be used unless a different budget is needed.
+ */
+@SuppressWarnings("unused")
+public class SeerResourceCache {
+
+    /**
+     * Default maximum number of (decompressed) bytes kept by the cache.
+     */
+    public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+    private static final SeerResourceCache _INSTANCE = new SeerResourceCache(DEFAULT_MAX_SIZE);
+
+    private final long _maxSize;
+
+    // the cached content, in access order; guarded by the map itself
+    private final Map<String, byte[]> _content = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long _size;
+
+    // the resources being loaded, so concurrent requests share the same load
+    private final Map<String, CompletableFuture<byte[]>> _loading = new ConcurrentHashMap<>();
+
+    private final LongAdder _numHits = new LongAdder();
+
+    private final LongAdder _numMisses = new LongAdder();
+
+    /**
+     * Constructor.
+     * @param maxSize the maximum number of (decompressed) bytes kept by the cache
+     */
+    public SeerResourceCache(long maxSize) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("Maximum size must be positive.");
+        _maxSize = maxSize;
+    }
+
+    /**
+     * Returns the shared instance, with a budget of {@link #DEFAULT_MAX_SIZE} bytes.
+     * @return the shared instance
+     */
+    public static SeerResourceCache getInstance() {
+        return _INSTANCE;
+    }
+
+    public long getMaxSize() {
+        return _maxSize;
+    }
+
+    /**
+     * Returns the number of (decompressed) bytes currently cached.
+     * @return the size of the cached content
+     */
+    public long getSize() {
+        synchronized (_content) {
+            return _size;
+        }
+    }
+
+    /**
+     * Returns the number of requests served by the cached content.
+     * @return the number of hits
+     */
+    public long getNumHits() {
+        return _numHits.sum();
+    }
+
+    /**
+     * Returns the number of requests that required the resource to be loaded.
+     * @return the number of misses
+     */
+    public long getNumMisses() {
+        return _numMisses.sum();
+    }
+
+    /**
+     * Returns true if the content of the requested resource is currently cached.
+     * @param url the URL of the resource
+     * @return true if the resource is cached
+     */
+    public boolean isCached(URL url) {
+        synchronized (_content) {
+            return _content.containsKey(url.toExternalForm());
+        }
+    }
+
+    /**
+     * Returns a read-only view of the decompressed content of the requested resource, loaded with the context class loader (or the class loader
+     * of this class if there is none).
+     * @param resourceName the name of the resource (see <code>ClassLoader.getResource</code>)
+     * @return a read-only buffer positioned at the beginning of the content, never null
+     */
+    public ByteBuffer getBuffer(String resourceName) throws IOException {
+        return getBuffer(getResource(resourceName));
+    }
+
+    /**
+     * Returns a read-only view of the decompressed content of the requested resource.
+     * @param url the URL of the resource
+     * @return a read-only buffer positioned at the beginning of the content, never null
+     */
+    public ByteBuffer getBuffer(URL url) throws IOException {
+        return ByteBuffer.wrap(getContent(url)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a stream on the decompressed content of the requested resource, loaded with the context class loader (or the class loader of this
+     * class if there is none).
+     * @param resourceName the name of the resource (see <code>ClassLoader.getResource</code>)
+     * @return a stream reading the cached content, never null
+     */
+    public InputStream getInputStream(String resourceName) throws IOException {
+        return getInputStream(getResource(resourceName));
+    }
+
+    /**
+     * Returns a stream on the decompressed content of the requested resource.
+     * @param url the URL of the resource
+     * @return a stream reading the cached content, never null
+     */
+    public InputStream getInputStream(URL url) throws IOException {
+        return new ByteArrayInputStream(getContent(url));
+    }
+
+    /**
+     * Loads the requested resources (loaded with the context class loader, or the class loader of this class if there is none) using several
+     * threads, so they are already cached when they are needed; the resources already cached are not loaded again.
+     * <p/>
+     * All the resources are loaded even if some of them fail; the first failure is then thrown, with the other ones added as suppressed exceptions.
+     * @param resourceNames the names of the resources to load
+     * @param numThreads the number of threads used to load the resources
+     */
+    public void warmup(List<String> resourceNames, int numThreads) throws IOException {
+        if (numThreads < 1)
+            throw new IllegalArgumentException("Number of threads must be at least 1.");
+
+        IOException failure = null;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(numThreads, Math.max(1, resourceNames.size())));
+        try {
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (String resourceName : resourceNames)
+                futures.add(executor.submit(() -> getContent(getResource(resourceName))));
+            for (Future<byte[]> future : futures) {
+                try {
+                    future.get();
+                }
+                catch (ExecutionException e) {
+                    IOException exception = e.getCause() instanceof IOException ioe ? ioe : new IOException("Unable to load resource", e.getCause());
+                    if (failure == null)
+                        failure = exception;
+                    else
+                        failure.addSuppressed(exception);
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Warmup of the resources was interrupted");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        if (failure != null)
+            throw failure;
+    }
+
+    /**
+     * Removes all the cached content.
+     */
+    public void clear() {
+        synchronized (_content) {
+            _content.clear();
+            _size = 0;
+        }
+    }
+
+    private static URL getResource(String resourceName) throws IOException {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null)
+            loader = SeerResourceCache.class.getClassLoader();
+        URL url = loader.getResource(resourceName);
+        if (url == null)
+            throw new IOException("Resource '" + resourceName + "' not found.");
+        return url;
+    }
+
+    private byte[] getContent(URL url) throws IOException {
+        if (url == null)
+            throw new IOException("URL is null");
+
+        String key = url.toExternalForm();
+        synchronized (_content) {
+            byte[] content = _content.get(key);
+            if (content != null) {
+                _numHits.increment();
+                return content;
+            }
+        }
+
+        // only the first thread loads the resource, the other ones wait for it
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = _loading.putIfAbsent(key, future);
+        if (existing != null) {
+            _numHits.increment();
+            try {
+                return existing.get();
+            }
+            catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ioe ? ioe : new IOException("Unable to load '" + key + "'", e.getCause());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Loading '" + key + "' was interrupted");
+            }
+        }
+
+        try {
+            // another thread might have cached the resource between the two checks
+            byte[] content;
+            synchronized (_content) {
+                content = _content.get(key);
+            }
+            if (content != null) {
+                _numHits.increment();
+                future.complete(content);
+                return content;
+            }
+
+            _numMisses.increment();
+            // the resource stream is its own resource, so it's closed even if the decompressing stream can't be created
+            try (InputStream raw = url.openStream(); InputStream is = SeerUtils.createInputStream(raw, url.getPath())) {
+                content = is.readAllBytes();
+            }
+            put(key, content);
+            future.complete(content);
+            return content;
+        }
+        catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            _loading.remove(key);
+        }
+    }
+
+    private void put(String key, byte[] content) {
+        if (content.length > _maxSize)
+            return;
+
+        synchronized (_content) {
+            byte[] previous = _content.put(key, content);
+            if (previous != null)
+                _size -= previous.length;
+            _size += content.length;
+
+            Iterator<byte[]> iterator = _content.values().iterator();
+            while (_size > _maxSize && iterator.hasNext()) {
+                byte[] evicted = iterator.next();
+                // the new content is the most recently used, so it's the last one to be considered
+                if (evicted == content)
+                    break;
+                iterator.remove();
+                _size -= evicted.length;
+            }
+        }
+    }
+}
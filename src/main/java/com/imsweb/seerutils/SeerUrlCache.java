@@ -0,0 +1,353 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.Charsets;
+
+/**
+ * A cache for the content of URLs, kept in memory and optionally on disk, and revalidated with conditional requests.
+ * <p/>
+ * The first time a URL is read, its content is downloaded and cached along with its validators (the <code>ETag</code> and
+ * <code>Last-Modified</code> headers); the next reads send a conditional request (<code>If-None-Match</code>/<code>If-Modified-Since</code>) and
+ * only download the content again if the server reports it changed. A URL validated less than {@link #getRevalidateAfter()} ago is served
+ * without any request. The content cached on disk survives the instance, so the next runs only need to revalidate it.
+ * <p/>
+ * All the requests go through a single <code>HttpClient</code>, so the connections are re-used; the content can optionally be transferred
+ * GZipped. URLs that are not HTTP(S) URLs are read directly and never cached. The cache can be used by several threads.
+ */
+@SuppressWarnings("unused")
+public class SeerUrlCache implements AutoCloseable {
+
+    /**
+     * Default maximum number of URLs kept in memory.
+     */
+    public static final int DEFAULT_MAX_MEMORY_ENTRIES = 100;
+
+    // the suffixes of the files of a cached URL
+    private static final String _DATA_SUFFIX = ".data";
+    private static final String _META_SUFFIX = ".meta";
+
+    private final HttpClient _client;
+
+    private final File _directory;
+
+    private final Map<String, CachedContent> _memoryCache;
+
+    private Duration _timeout = Duration.ofSeconds(30);
+
+    private Duration _revalidateAfter = Duration.ZERO;
+
+    private boolean _requestGzip = true;
+
+    private final LongAdder _numHits = new LongAdder();
+
+    private final LongAdder _numRevalidations = new LongAdder();
+
+    private final LongAdder _numDownloads = new LongAdder();
+
+    /**
+     * Constructor, creates a cache kept in memory only.
+     */
+    public SeerUrlCache() {
+        this(null, DEFAULT_MAX_MEMORY_ENTRIES);
+    }
+
+    /**
+     * Constructor.
+     * @param directory optional directory where the content is cached on disk (created if needed), null to only cache the content in memory
+     * @param maxMemoryEntries the maximum number of URLs kept in memory (the least recently used ones are evicted first)
+     */
+    public SeerUrlCache(File directory, int maxMemoryEntries) {
+        if (maxMemoryEntries < 1)
+            throw new IllegalArgumentException("Number of memory entries must be positive.");
+
+        _directory = directory;
+        _memoryCache = new SeerLRUCache<>(maxMemoryEntries);
+        _client = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).connectTimeout(_timeout).build();
+    }
+
+    public Duration getTimeout() {
+        return _timeout;
+    }
+
+    /**
+     * Sets the timeout of each request (defaults to 30 seconds).
+     * @param timeout the timeout, cannot be null
+     */
+    public void setTimeout(Duration timeout) {
+        _timeout = timeout;
+    }
+
+    public Duration getRevalidateAfter() {
+        return _revalidateAfter;
+    }
+
+    /**
+     * Sets the time during which a validated URL is served from the cache without sending any request (defaults to zero, every read is
+     * revalidated).
+     * @param revalidateAfter the time after which the cached content is revalidated, cannot be null
+     */
+    public void setRevalidateAfter(Duration revalidateAfter) {
+        _revalidateAfter = revalidateAfter;
+    }
+
+    public boolean isRequestGzip() {
+        return _requestGzip;
+    }
+
+    /**
+     * Sets whether the content is requested GZipped (defaults to true); the servers that don't support it send the content as-is.
+     * @param requestGzip true to request GZipped content
+     */
+    public void setRequestGzip(boolean requestGzip) {
+        _requestGzip = requestGzip;
+    }
+
+    /**
+     * Returns the number of reads served from the cache without any request.
+     * @return the number of hits
+     */
+    public long getNumHits() {
+        return _numHits.sum();
+    }
+
+    /**
+     * Returns the number of reads for which the server confirmed the cached content was still valid.
+     * @return the number of revalidations
+     */
+    public long getNumRevalidations() {
+        return _numRevalidations.sum();
+    }
+
+    /**
+     * Returns the number of reads that downloaded the content.
+     * @return the number of downloads
+     */
+    public long getNumDownloads() {
+        return _numDownloads.sum();
+    }
+
+    /**
+     * Reads and returns the content of the requested URL using the provided encoding.
+     * @param url the <code>URL</code> to read
+     * @param encoding encoding to use (if null, the default encoding is used)
+     * @return the content of the URL
+     */
+    public String readUrl(URL url, String encoding) throws IOException {
+        return new String(readBytes(url), Charsets.toCharset(encoding));
+    }
+
+    /**
+     * Reads and returns the content of the requested URL.
+     * @param url the <code>URL</code> to read
+     * @return the content of the URL
+     */
+    public byte[] readBytes(URL url) throws IOException {
+        if (url == null)
+            throw new IOException("URL is null");
+
+        String protocol = url.getProtocol().toLowerCase();
+        if (!"http".equals(protocol) && !"https".equals(protocol)) {
+            try (InputStream is = url.openStream()) {
+                return is.readAllBytes();
+            }
+        }
+
+        String key = url.toExternalForm();
+        CachedContent cached;
+        synchronized (_memoryCache) {
+            cached = _memoryCache.get(key);
+        }
+        if (cached == null)
+            cached = readFromDisk(key);
+
+        if (cached != null && System.nanoTime() - cached._validated < _revalidateAfter.toNanos()) {
+            _numHits.increment();
+            return cached._content;
+        }
+
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(url.toURI()).timeout(_timeout).GET();
+        }
+        catch (URISyntaxException e) {
+            throw new IOException("Invalid URL: " + key, e);
+        }
+        if (_requestGzip)
+            builder.header("Accept-Encoding", "gzip");
+        if (cached != null && cached._etag != null)
+            builder.header("If-None-Match", cached._etag);
+        if (cached != null && cached._lastModified != null)
+            builder.header("If-Modified-Since", cached._lastModified);
+
+        HttpResponse<byte[]> response;
+        try {
+            response = _client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Reading '" + key + "' was interrupted");
+        }
+
+        CachedContent result;
+        if (response.statusCode() == 304 && cached != null) {
+            _numRevalidations.increment();
+            result = new CachedContent(cached._content, cached._etag, cached._lastModified);
+        }
+        else if (response.statusCode() == 200) {
+            _numDownloads.increment();
+            byte[] content = response.body();
+            if ("gzip".equalsIgnoreCase(response.headers().firstValue("Content-Encoding").orElse(null))) {
+                try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(content))) {
+                    content = is.readAllBytes();
+                }
+            }
+            result = new CachedContent(content, response.headers().firstValue("ETag").orElse(null), response.headers().firstValue("Last-Modified").orElse(null));
+            if (result._etag != null || result._lastModified != null)
+                writeToDisk(key, result);
+        }
+        else
+            throw new IOException("Unable to read '" + key + "': HTTP status " + response.statusCode());
+
+        // content without any validator can't be revalidated, but it can still be served while it's fresh
+        synchronized (_memoryCache) {
+            _memoryCache.put(key, result);
+        }
+
+        return result._content;
+    }
+
+    /**
+     * Removes all the content cached in memory and on disk.
+     */
+    public void clear() throws IOException {
+        synchronized (_memoryCache) {
+            _memoryCache.clear();
+        }
+        if (_directory != null && _directory.exists())
+            SeerUtils.emptyDirectory(_directory);
+    }
+
+    @Override
+    public void close() {
+        _client.close();
+    }
+
+    private CachedContent readFromDisk(String key) throws IOException {
+        if (_directory == null)
+            return null;
+
+        Path meta = _directory.toPath().resolve(getFileName(key) + _META_SUFFIX);
+        Path data = _directory.toPath().resolve(getFileName(key) + _DATA_SUFFIX);
+        if (!Files.exists(meta) || !Files.exists(data))
+            return null;
+
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        // the file names are hashes, so the URL itself is stored to detect a collision
+        if (!key.equals(props.getProperty("url")))
+            return null;
+
+        // the validators are kept, but the content still needs to be revalidated
+        CachedContent cached = new CachedContent(Files.readAllBytes(data), props.getProperty("etag"), props.getProperty("lastModified"));
+        cached._validated = System.nanoTime() - _revalidateAfter.toNanos();
+        return cached;
+    }
+
+    // the data is written first and the metadata last, each one atomically, so a partially written entry is never used
+    private void writeToDisk(String key, CachedContent content) throws IOException {
+        if (_directory == null)
+            return;
+
+        Files.createDirectories(_directory.toPath());
+        String name = getFileName(key);
+        Path data = _directory.toPath().resolve(name + _DATA_SUFFIX);
+        Path meta = _directory.toPath().resolve(name + _META_SUFFIX);
+        Files.deleteIfExists(meta);
+
+        Path tmpData = Files.createTempFile(_directory.toPath(), name, ".tmp");
+        Path tmpMeta = Files.createTempFile(_directory.toPath(), name, ".tmp");
+        try {
+            Files.write(tmpData, content._content);
+            Properties props = new Properties();
+            props.setProperty("url", key);
+            if (content._etag != null)
+                props.setProperty("etag", content._etag);
+            if (content._lastModified != null)
+                props.setProperty("lastModified", content._lastModified);
+            try (Writer writer = Files.newBufferedWriter(tmpMeta, StandardCharsets.UTF_8)) {
+                props.store(writer, null);
+            }
+            move(tmpData, data);
+            move(tmpMeta, meta);
+        }
+        finally {
+            Files.deleteIfExists(tmpData);
+            Files.deleteIfExists(tmpMeta);
+        }
+    }
+
+    private static void move(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String getFileName(String key) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedContent {
+
+        private final byte[] _content;
+        private final String _etag;
+        private final String _lastModified;
+
+        // the System.nanoTime() value of the last time the content was downloaded or revalidated
+        private long _validated;
+
+        private CachedContent(byte[] content, String etag, String lastModified) {
+            _content = content;
+            _etag = etag;
+            _lastModified = lastModified;
+            _validated = System.nanoTime();
+        }
+    }
+}
@@ -3,23 +3,87 @@
  */
 package com.imsweb.seerutils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.io.Reader;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URL;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.text.DecimalFormat;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -27,10 +91,35 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.lz77support.Parameters;
+import org.apache.commons.compress.compressors.snappy.FramedSnappyCompressorInputStream;
+import org.apache.commons.compress.compressors.snappy.FramedSnappyCompressorOutputStream;
+import org.apache.commons.compress.compressors.snappy.SnappyCompressorInputStream;
+import org.apache.commons.compress.compressors.snappy.SnappyCompressorOutputStream;
+import org.apache.commons.io.Charsets;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.io.function.IOConsumer;
+import org.apache.commons.io.function.IOSupplier;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.StringUtils;
 
+import com.imsweb.seerutils.gzip.ParallelGzipInputStream;
+import com.imsweb.seerutils.gzip.ParallelGzipOutputStream;
+import com.imsweb.seerutils.gzip.StreamingGzipOutputStream;
+import com.imsweb.seerutils.io.BufferPool;
+import com.imsweb.seerutils.io.CancellationToken;
+import com.imsweb.seerutils.io.DirectoryCopyOptions;
+import com.imsweb.seerutils.io.DirectoryOperationException;
+import com.imsweb.seerutils.io.DirectorySyncOptions;
+import com.imsweb.seerutils.io.DirectorySyncReport;
+import com.imsweb.seerutils.io.FileProfile;
+import com.imsweb.seerutils.io.FileWriteOptions;
+import com.imsweb.seerutils.io.MultiFileInputStream;
+import com.imsweb.seerutils.io.RateLimiter;
+import com.imsweb.seerutils.io.ReadAheadInputStream;
 import com.imsweb.seerutils.zip.ZipSecureFile;
 
 /**
@@ -42,6 +131,43 @@ public final class SeerUtils {
     // cached pattern for the versions
     private static final Pattern _VERSIONS_PATTERN = Pattern.compile("^\\d+(\\.\\d+){0,3}$");
 
+    // the number of bytes needed to recognize the compression format of a file
+    private static final int _MAX_SIGNATURE_LENGTH = 10;
+
+    // the LZ4 and Snappy formats are written for interoperability; the LZ4 compressor uses the default parameters (larger blocks and the speed tuning
+    // were measured slower), the Snappy one is tuned for speed (measured about twice as fast as the default parameters)
+    private static final Parameters _SNAPPY_PARAMETERS = SnappyCompressorOutputStream.createParameterBuilder(SnappyCompressorInputStream.DEFAULT_BLOCK_SIZE)
+            .tunedForSpeed().build();
+
+    // the largest array the JVM can allocate (some VMs reserve a few header words)
+    private static final int _MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    // the largest initial array allocated from a size hint; larger contents grow the array as they are read, so a bogus hint can't exhaust the memory
+    private static final int _MAX_SIZE_HINT = 8 * 1024 * 1024;
+
+    // the maximum expansion of deflated data, used to bound the uncompressed size recorded in a GZip trailer
+    private static final long _MAX_DEFLATE_RATIO = 1032L;
+
+    // the size of the regions mapped when a file is decoded in chunks
+    private static final long _MAPPED_REGION_SIZE = 256L * 1024 * 1024;
+
+    // the asynchronous operations run on virtual threads, but only a limited number of them access the files at the same time
+    private static final int _MAX_CONCURRENT_ASYNC_OPERATIONS = 128;
+    private static final Executor _ASYNC_EXECUTOR = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("seerutils-async-", 0).factory());
+    private static final Semaphore _ASYNC_PERMITS = new Semaphore(_MAX_CONCURRENT_ASYNC_OPERATIONS);
+
+    // the bytes allowed by the pure-ASCII checks (32-126, tab, line feed and carriage return), as a 256-bit mask indexed by the unsigned byte value
+    private static final long[] _ASCII_MASK = createDefaultAsciiMask();
+
+    // used to read the byte arrays eight bytes at a time; the order doesn't matter since the words are only tested as a whole
+    private static final VarHandle _LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final long _ONES = 0x0101010101010101L;
+    private static final long _HIGH_BITS = 0x8080808080808080L;
+
+    // the minimum size of the chunks of a file profiled concurrently, and the largest line length counted without boxing
+    private static final long _PROFILE_MIN_CHUNK_SIZE = 4L * 1024 * 1024;
+    private static final int _PROFILE_MAX_COUNTED_LENGTH = 64 * 1024;
+
     /**
      * Private constructor, no instantiation.
      * <p/>
@@ -117,14 +243,33 @@ public final class SeerUtils {
      * <li>13 (carriage return)</li>
      * </ul>
      * <p/>
-     * This method is identical to <code>isPureAscii(s.getBytes())</code>.
+     * Any character that is not an ASCII character makes this method return false.
      * <p/>
      * Created on Jan 2, 2012 by depryf
      * @param s String to check, the method returns true if it is null or empty
      * @return true if the provided string contains only printable ASCII characters, false otherwise
      */
     public static boolean isPureAscii(String s) {
-        return s == null || isPureAscii(s.getBytes(StandardCharsets.US_ASCII), null);
+        return isPureAscii((CharSequence)s);
+    }
+
+    /**
+     * Returns true if the provided sequence contains only printable ASCII characters, false otherwise; see {@link #isPureAscii(String)}.
+     * @param s sequence to check, the method returns true if it is null or empty
+     * @return true if the provided sequence contains only printable ASCII characters, false otherwise
+     */
+    public static boolean isPureAscii(CharSequence s) {
+        return s == null || indexOfNonAscii(s, null) == -1;
+    }
+
+    /**
+     * Returns true if the remaining bytes of the provided buffer contain only printable ASCII characters, false otherwise; see
+     * {@link #isPureAscii(byte[], byte[])}. The position of the buffer is not changed.
+     * @param buffer buffer to check, the method returns true if it is null or has no remaining bytes
+     * @return true if the remaining bytes contain only printable ASCII characters, false otherwise
+     */
+    public static boolean isPureAscii(ByteBuffer buffer) {
+        return buffer == null || indexOfNonAscii(buffer, null) == -1;
     }
 
     /**
@@ -167,15 +312,117 @@ public final class SeerUtils {
      * @return boolean true if the provided array of bytes contains only printable ASCII characters, false otherwise
      */
     public static boolean isPureAscii(byte[] bytes, byte[] exceptions) {
-        if (bytes == null)
-            return true;
+        return bytes == null || indexOfNonAscii(bytes, 0, bytes.length, exceptions) == -1;
+    }
+
+    /**
+     * Returns the index of the first byte of the provided range that is not a printable ASCII character (see {@link #isPureAscii(byte[], byte[])}),
+     * -1 if all the bytes are printable ASCII characters.
+     * <p/>
+     * The bytes are checked eight at a time, so this method is much faster than a simple loop on the (common) values without any control character.
+     * @param bytes array of bytes to check, cannot be null
+     * @param from the index of the first byte to check (inclusive)
+     * @param to the index of the last byte to check (exclusive)
+     * @param exceptions optional array of exceptions (can be null or empty)
+     * @return the index of the first byte that is not a printable ASCII character, -1 if there is none
+     */
+    public static int indexOfNonAscii(byte[] bytes, int from, int to, byte[] exceptions) {
+        Objects.checkFromToIndex(from, to, bytes.length);
+        long[] mask = createAsciiMask(exceptions);
+
+        int i = from;
+        for (; i <= to - Long.BYTES; i += Long.BYTES)
+            if (!isPrintableWord((long)_LONG_VIEW.get(bytes, i)))
+                for (int j = i; j < i + Long.BYTES; j++)
+                    if (!isAllowed(mask, bytes[j]))
+                        return j;
+        for (; i < to; i++)
+            if (!isAllowed(mask, bytes[i]))
+                return i;
+
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first remaining byte of the provided buffer that is not a printable ASCII character (see
+     * {@link #isPureAscii(byte[], byte[])}), -1 if all the remaining bytes are printable ASCII characters.
+     * <p/>
+     * The returned index is an absolute index in the buffer (between its position and its limit); the position of the buffer is not changed.
+     * Neither heap nor direct buffers are copied.
+     * @param buffer buffer to check, cannot be null
+     * @param exceptions optional array of exceptions (can be null or empty)
+     * @return the index of the first byte that is not a printable ASCII character, -1 if there is none
+     */
+    public static int indexOfNonAscii(ByteBuffer buffer, byte[] exceptions) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            int index = indexOfNonAscii(buffer.array(), offset + buffer.position(), offset + buffer.limit(), exceptions);
+            return index == -1 ? -1 : index - offset;
+        }
+
+        long[] mask = createAsciiMask(exceptions);
+        int i = buffer.position();
+        int to = buffer.limit();
+        for (; i <= to - Long.BYTES; i += Long.BYTES)
+            if (!isPrintableWord(buffer.getLong(i)))
+                for (int j = i; j < i + Long.BYTES; j++)
+                    if (!isAllowed(mask, buffer.get(j)))
+                        return j;
+        for (; i < to; i++)
+            if (!isAllowed(mask, buffer.get(i)))
+                return i;
+
+        return -1;
+    }
 
-        for (byte b : bytes)
-            if ((b < 32 && b != 9 && b != 10 && b != 13) || b == 127)
-                if (exceptions == null || exceptions.length == 0 || !ArrayUtils.contains(exceptions, b))
-                    return false;
+    /**
+     * Returns the index of the first character of the provided sequence that is not a printable ASCII character (see
+     * {@link #isPureAscii(byte[], byte[])}), -1 if all the characters are printable ASCII characters.
+     * <p/>
+     * Any character that is not an ASCII character is reported; the exceptions only apply to the ASCII characters.
+     * @param s sequence to check, cannot be null
+     * @param exceptions optional array of exceptions (can be null or empty)
+     * @return the index of the first character that is not a printable ASCII character, -1 if there is none
+     */
+    public static int indexOfNonAscii(CharSequence s, byte[] exceptions) {
+        long[] mask = createAsciiMask(exceptions);
+        for (int i = 0, length = s.length(); i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 128 || !isAllowed(mask, (byte)c))
+                return i;
+        }
+        return -1;
+    }
+
+    private static long[] createDefaultAsciiMask() {
+        long[] mask = new long[4];
+        for (int b = 32; b < 127; b++)
+            mask[b >>> 6] |= 1L << b;
+        for (int b : new int[] {9, 10, 13})
+            mask[b >>> 6] |= 1L << b;
+        return mask;
+    }
+
+    private static long[] createAsciiMask(byte[] exceptions) {
+        if (exceptions == null || exceptions.length == 0)
+            return _ASCII_MASK;
 
-        return true;
+        long[] mask = _ASCII_MASK.clone();
+        for (byte b : exceptions)
+            mask[(b & 0xFF) >>> 6] |= 1L << b;
+        return mask;
+    }
+
+    private static boolean isAllowed(long[] mask, byte b) {
+        return (mask[(b & 0xFF) >>> 6] & 1L << b) != 0;
+    }
+
+    // returns true if all the bytes of the word are between 32 and 126: no high bit, no byte less than 32 and no byte equal to 127
+    private static boolean isPrintableWord(long word) {
+        long lessThan32 = word - _ONES * 32 & ~word;
+        long xor127 = word ^ _ONES * 127;
+        long equal127 = xor127 - _ONES & ~xor127;
+        return ((word | lessThan32 | equal127) & _HIGH_BITS) == 0;
     }
 
     /**
@@ -197,6 +444,12 @@ public final class SeerUtils {
      * <p/>
      * The input stream will be closed when this method returns; the output stream will be closed only if closeOutput is set to true
      * <p/>
+     * If the input is a <code>FileInputStream</code> and the output a <code>FileOutputStream</code>, the data is transferred by their channels
+     * (<code>FileChannel.transferTo</code>), starting at the current position of the input, which lets the operating system copy it without going
+     * through the JVM. Other streams are copied through a (pooled) 64KB buffer; that includes the streams returned by
+     * <code>Files.newInputStream</code>/<code>Files.newOutputStream</code> and <code>Channels.newInputStream</code>/<code>Channels.newOutputStream</code>
+     * (including on socket channels), since their classes are internal to the JDK and can't be detected.
+     * <p/>
      * Created on May 27, 2004 by Fabian Depry
      * @param input where to take the data from
      * @param output where to send the data to
@@ -204,14 +457,76 @@ public final class SeerUtils {
      * @throws IOException if data cannot be copied from input to output
      */
     public static void copyInputStreamToOutputStream(InputStream input, OutputStream output, boolean closeOutput) throws IOException {
+        copyInputStreamToOutputStream(input, output, closeOutput, null);
+    }
+
+    /**
+     * Copies the content of the given input stream to the the given output stream, limiting the throughput with the provided rate limiter.
+     * <p/>
+     * The input stream will be closed when this method returns; the output stream will be closed only if closeOutput is set to true
+     * <p/>
+     * When a rate limiter is provided, the data is always copied through a (pooled) 64KB buffer, and each chunk is acquired from the limiter before
+     * being written; the same limiter can be shared by several copies to limit their combined throughput.
+     * @param input where to take the data from
+     * @param output where to send the data to
+     * @param closeOutput whether the output stream should be closed
+     * @param limiter optional rate limiter (if null, the copy is not throttled)
+     * @throws IOException if data cannot be copied from input to output
+     */
+    public static void copyInputStreamToOutputStream(InputStream input, OutputStream output, boolean closeOutput, RateLimiter limiter) throws IOException {
+        copyInputStreamToOutputStream(input, output, closeOutput, limiter, null);
+    }
+
+    /**
+     * Copies the content of the given input stream to the the given output stream, limiting the throughput with the provided rate limiter and
+     * stopping if the provided token is cancelled.
+     * <p/>
+     * The input stream will be closed when this method returns; the output stream will be closed only if closeOutput is set to true
+     * <p/>
+     * When a rate limiter or a cancellation token is provided, the data is always copied through a (pooled) 64KB buffer; the token is checked
+     * before each chunk is written.
+     * @param input where to take the data from
+     * @param output where to send the data to
+     * @param closeOutput whether the output stream should be closed
+     * @param limiter optional rate limiter (if null, the copy is not throttled)
+     * @param token optional cancellation token (if null, the copy can't be cancelled)
+     * @throws InterruptedIOException if the token is cancelled
+     * @throws IOException if data cannot be copied from input to output
+     */
+    public static void copyInputStreamToOutputStream(InputStream input, OutputStream output, boolean closeOutput, RateLimiter limiter, CancellationToken token)
+            throws IOException {
         if (input == null)
             throw new IOException("Input Stream is null");
         if (output == null)
             throw new IOException("Output Stream is null");
 
-        // delegate the work to the IOUtils class...
         try (input) {
-            IOUtils.copyLarge(input, output);
+            boolean buffered = limiter != null || token != null;
+            if (!buffered && input instanceof FileInputStream fis && output instanceof FileOutputStream fos)
+                transferChannels(fis.getChannel(), fos.getChannel());
+            else {
+                BufferPool pool = BufferPool.getShared(BufferPool.MEDIUM_BUFFER_SIZE);
+                ByteBuffer buffer = pool.acquire();
+                try {
+                    if (!buffered)
+                        IOUtils.copyLarge(input, output, buffer.array());
+                    else {
+                        byte[] bytes = buffer.array();
+                        int chunkSize = limiter == null ? bytes.length : (int)Math.min(bytes.length, limiter.getMaxBurst());
+                        int n;
+                        while ((n = input.read(bytes, 0, chunkSize)) != -1) {
+                            if (token != null)
+                                token.throwIfCancelled();
+                            if (limiter != null)
+                                limiter.acquire(n);
+                            output.write(bytes, 0, n);
+                        }
+                    }
+                }
+                finally {
+                    pool.release(buffer);
+                }
+            }
             output.flush();
         }
         finally {
@@ -220,6 +535,19 @@ public final class SeerUtils {
         }
     }
 
+    // transfers the remaining content of the input channel (from its current position) to the output channel
+    private static void transferChannels(FileChannel input, FileChannel output) throws IOException {
+        long position = input.position();
+        long size = input.size();
+        while (position < size) {
+            long n = input.transferTo(position, size - position, output);
+            if (n <= 0)
+                break;
+            position += n;
+        }
+        input.position(position);
+    }
+
     /**
      * Copies the content of the given reader to the given writer.
      * <p/>
@@ -275,6 +603,10 @@ public final class SeerUtils {
     /**
      * Reads and returns the content of the request file using the provided encoding.
      * <p/>
+     * The data is read in a single array sized from the length of the file (or from the uncompressed size recorded at the end of a GZipped file),
+     * so reading a large file doesn't require much more memory than the resulting string; a non-compressed file is memory-mapped and copied from
+     * the mapping. To process files too large to be kept in memory, use {@link #readFileChunks(File, String, int, IOConsumer)}.
+     * <p/>
      * Created on Aug 17, 2010 by depryf
      * @param file <code>File</code> to read
      * @param encoding encoding to use
@@ -284,12 +616,241 @@ public final class SeerUtils {
         if (file == null || !file.exists())
             throw new IOException("File does not exist.");
 
-        Writer writer = new StringWriter();
+        CompressionFormat format = getCompressionFormat(file);
+        if (format == null) {
+            try (FileChannel channel = FileChannel.open(file.toPath())) {
+                long size = channel.size();
+                if (size > _MAX_ARRAY_LENGTH)
+                    throw new IOException("File is too large to be read in memory.");
+                byte[] bytes = new byte[(int)size];
+                channel.map(FileChannel.MapMode.READ_ONLY, 0, size).get(bytes);
+                return new String(bytes, Charsets.toCharset(encoding));
+            }
+        }
+
         try (InputStream is = createInputStream(file)) {
-            IOUtils.copy(is, writer, encoding);
+            return readString(is, encoding, format == CompressionFormat.GZIP ? getGzipUncompressedSize(file) : file.length());
+        }
+    }
+
+    /**
+     * Reads the content of the requested file using the provided encoding and hands it to the consumer in chunks of at most the requested number of
+     * characters, so the entire content never needs to be in memory.
+     * <p/>
+     * The file is opened the same way {@link #createInputStream(File)} does; a non-compressed file is memory-mapped and decoded directly from the
+     * mapping. The same <code>CharBuffer</code> is used for all the chunks: the consumer can read it (it's ready to be read, with its limit set to
+     * the end of the chunk) but it must not keep a reference to it. Malformed input is replaced by the replacement character of the encoding,
+     * like {@link #readFile(File, String)} does.
+     * @param file <code>File</code> to read
+     * @param encoding encoding to use (if null, the default encoding is used)
+     * @param chunkSize the maximum number of characters of each chunk, must be at least 2 (so surrogate pairs are never split)
+     * @param consumer the consumer receiving the chunks
+     */
+    public static void readFileChunks(File file, String encoding, int chunkSize, IOConsumer<CharBuffer> consumer) throws IOException {
+        if (file == null || !file.exists())
+            throw new IOException("File does not exist.");
+        if (chunkSize < 2)
+            throw new IllegalArgumentException("Chunk size must be at least 2.");
+
+        CharsetDecoder decoder = Charsets.toCharset(encoding).newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(
+                CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(chunkSize);
+
+        if (getCompressionFormat(file) == null) {
+            try (FileChannel channel = FileChannel.open(file.toPath())) {
+                long size = channel.size();
+                long position = 0;
+                boolean endOfInput;
+                do {
+                    // a character split between two regions is left in the first one by the decoder, so the next region starts with it
+                    long regionSize = Math.min(_MAPPED_REGION_SIZE, size - position);
+                    endOfInput = position + regionSize == size;
+                    MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+                    decodeChunks(decoder, region, endOfInput, chars, consumer);
+                    position += region.position();
+                }
+                while (!endOfInput);
+            }
+        }
+        else {
+            BufferPool pool = BufferPool.getShared(BufferPool.MEDIUM_BUFFER_SIZE);
+            ByteBuffer bytes = pool.acquire();
+            try (InputStream is = createInputStream(file)) {
+                int n;
+                while ((n = is.read(bytes.array(), bytes.position(), bytes.remaining())) != -1) {
+                    bytes.position(bytes.position() + n).flip();
+                    decodeChunks(decoder, bytes, false, chars, consumer);
+                    bytes.compact();
+                }
+                decodeChunks(decoder, bytes.flip(), true, chars, consumer);
+            }
+            finally {
+                pool.release(bytes);
+            }
+        }
+
+        while (decoder.flush(chars).isOverflow())
+            consumeChunk(chars, consumer);
+        consumeChunk(chars, consumer);
+    }
+
+    // decodes the available bytes, handing the characters to the consumer every time the buffer is full
+    private static void decodeChunks(CharsetDecoder decoder, ByteBuffer bytes, boolean endOfInput, CharBuffer chars, IOConsumer<CharBuffer> consumer)
+            throws IOException {
+        CoderResult result;
+        while ((result = decoder.decode(bytes, chars, endOfInput)).isOverflow())
+            consumeChunk(chars, consumer);
+        if (result.isError())
+            result.throwException();
+    }
+
+    private static void consumeChunk(CharBuffer chars, IOConsumer<CharBuffer> consumer) throws IOException {
+        chars.flip();
+        if (chars.hasRemaining())
+            consumer.accept(chars);
+        chars.clear();
+    }
+
+    /**
+     * Profiles the provided file in a single pass, using all the available processors and returning the first 100 bytes that are not printable
+     * ASCII characters; see {@link #profileFile(File, int, int)}.
+     * @param file <code>File</code> to profile, cannot be null (an exception will be thrown if it does not exist)
+     * @return the profile of the file
+     */
+    public static FileProfile profileFile(File file) throws IOException {
+        return profileFile(file, 100, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Profiles the provided file in a single pass: number of lines, histogram of the line lengths, line endings and bytes that are not printable
+     * ASCII characters (see {@link FileProfile}).
+     * <p/>
+     * The file is decompressed based on its content, the same way {@link #createInputStream(File, String)} does (GZipped files made of several members
+     * are decompressed using several threads). An uncompressed file is mapped in memory and split into chunks ending at a line boundary, which are
+     * profiled concurrently.
+     * @param file <code>File</code> to profile, cannot be null (an exception will be thrown if it does not exist)
+     * @param maxNonAsciiBytes the maximum number of bytes that are not printable ASCII characters returned in the profile (they are all counted)
+     * @param numThreads maximum number of threads used to profile the file
+     * @return the profile of the file
+     */
+    public static FileProfile profileFile(File file, int maxNonAsciiBytes, int numThreads) throws IOException {
+        if (file == null || !file.exists())
+            throw new IOException("File does not exist.");
+        if (maxNonAsciiBytes < 0)
+            throw new IllegalArgumentException("Maximum number of non-ASCII bytes cannot be negative.");
+        if (numThreads < 1)
+            throw new IllegalArgumentException("Number of threads must be at least 1.");
+
+        if (getCompressionFormat(file) != null) {
+            ProfileScanner scanner = new ProfileScanner(0, maxNonAsciiBytes);
+            BufferPool pool = BufferPool.getShared(BufferPool.MEDIUM_BUFFER_SIZE);
+            ByteBuffer bytes = pool.acquire();
+            try (InputStream is = createInputStream(file, null, numThreads)) {
+                int n;
+                while ((n = is.read(bytes.array(), 0, bytes.capacity())) != -1)
+                    scanner.scan(bytes.limit(n));
+            }
+            finally {
+                pool.release(bytes);
+            }
+            return scanner.finish().toProfile();
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            // the chunks are small enough to be shared by the threads, but large enough to limit the number of mappings
+            long size = channel.size();
+            long chunkSize = Math.min(_MAPPED_REGION_SIZE, Math.max(_PROFILE_MIN_CHUNK_SIZE, size / (numThreads * 4L) + 1));
+            List<Long> boundaries = new ArrayList<>();
+            boundaries.add(0L);
+            while (boundaries.getLast() < size)
+                boundaries.add(findLineBoundary(channel, boundaries.getLast() + chunkSize, size));
+
+            List<ProfileScanner> scanners = new ArrayList<>();
+            if (numThreads == 1 || boundaries.size() <= 2) {
+                for (int i = 0; i < boundaries.size() - 1; i++)
+                    scanners.add(profileRegion(channel, boundaries.get(i), boundaries.get(i + 1), maxNonAsciiBytes));
+            }
+            else {
+                // closing the executor waits for the running regions, so the channel isn't closed under them
+                List<Future<ProfileScanner>> futures = new ArrayList<>();
+                try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(numThreads, boundaries.size() - 1))) {
+                    try {
+                        for (int i = 0; i < boundaries.size() - 1; i++) {
+                            long start = boundaries.get(i);
+                            long end = boundaries.get(i + 1);
+                            futures.add(executor.submit(() -> profileRegion(channel, start, end, maxNonAsciiBytes)));
+                        }
+                        for (Future<ProfileScanner> future : futures)
+                            scanners.add(future.get());
+                    }
+                    finally {
+                        // after a failure, the remaining regions are not profiled
+                        for (Future<ProfileScanner> future : futures)
+                            future.cancel(true);
+                    }
+                }
+                catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException ioe)
+                        throw ioe;
+                    throw new IOException("Unable to profile '" + file.getPath() + "'", e.getCause());
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Profiling of '" + file.getPath() + "' was interrupted");
+                }
+            }
+
+            ProfileScanner result = new ProfileScanner(0, maxNonAsciiBytes).finish();
+            for (ProfileScanner scanner : scanners)
+                result.merge(scanner);
+            return result.toProfile();
+        }
+    }
+
+    // the chunks start at the beginning of a line, so each of them can be profiled independently
+    private static ProfileScanner profileRegion(FileChannel channel, long start, long end, int maxNonAsciiBytes) throws IOException {
+        ProfileScanner scanner = new ProfileScanner(start, maxNonAsciiBytes);
+        scanner.scan(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+        return scanner.finish();
+    }
+
+    // returns the first position (starting at the requested one) that is the beginning of a line, the size of the file if there is none
+    private static long findLineBoundary(FileChannel channel, long position, long size) throws IOException {
+        if (position >= size)
+            return size;
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+        long offset = position - 1;
+        byte previous = 0;
+        while (offset < size) {
+            buffer.clear();
+            int n = channel.read(buffer, offset);
+            if (n <= 0)
+                break;
+            for (int i = 0; i < n; i++, offset++) {
+                byte b = buffer.get(i);
+                // a line starts after a line feed, or after a carriage return that isn't followed by a line feed
+                if (offset >= position && (previous == '\n' || (previous == '\r' && b != '\n')))
+                    return offset;
+                previous = b;
+            }
         }
+        return size;
+    }
 
-        return writer.toString();
+    // returns the uncompressed size recorded in the trailer of the (last member of the) GZip file; it's only a hint since it's stored modulo 4GB
+    // and the file might be corrupted, so it's bounded by the maximum expansion of the deflated data
+    private static long getGzipUncompressedSize(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            long size = channel.size();
+            if (size < 18)
+                return -1;
+            ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (trailer.hasRemaining())
+                if (channel.read(trailer, size - 4 + trailer.position()) < 0)
+                    return -1;
+            return Math.min(Integer.toUnsignedLong(trailer.getInt(0)), size * _MAX_DEFLATE_RATIO);
+        }
     }
 
     /**
@@ -315,12 +876,38 @@ public final class SeerUtils {
         if (url == null)
             throw new IOException("URL is null");
 
-        StringWriter writer = new StringWriter();
         try (InputStream is = url.openStream()) {
-            IOUtils.copy(is, writer, encoding);
+            return readString(is, encoding, -1);
         }
+    }
+
+    /**
+     * Reads and returns the content of the request URL using the provided encoding, going through the provided cache.
+     * <p/>
+     * The content is downloaded only if it's not in the cache or if the server reports it changed (see {@link SeerUrlCache}).
+     * @param url the <code>URL</code> to read
+     * @param encoding encoding to use
+     * @param cache the cache to use, cannot be null
+     * @return the content of the request URL
+     */
+    public static String readUrl(URL url, String encoding, SeerUrlCache cache) throws IOException {
+        return cache.readUrl(url, encoding);
+    }
 
-        return writer.toString();
+    // reads the stream in a single array (sized from the hint, up to a few MB, and grown as needed) and decodes the data at once
+    private static String readString(InputStream is, String encoding, long sizeHint) throws IOException {
+        byte[] bytes = new byte[Math.clamp(sizeHint + 1, BufferPool.SMALL_BUFFER_SIZE, _MAX_SIZE_HINT)];
+        int length = 0;
+        int n;
+        while ((n = is.read(bytes, length, bytes.length - length)) != -1) {
+            length += n;
+            if (length == bytes.length) {
+                if (length == _MAX_ARRAY_LENGTH)
+                    throw new IOException("Content is too large to be read in memory.");
+                bytes = Arrays.copyOf(bytes, (int)Math.min((long)length + (length >> 1), _MAX_ARRAY_LENGTH));
+            }
+        }
+        return new String(bytes, 0, length, Charsets.toCharset(encoding));
     }
 
     /**
@@ -337,22 +924,230 @@ public final class SeerUtils {
     /**
      * Writes the given string to the given file.
      * <p/>
+     * The file is compressed based on its extension, the same way {@link #createOutputStream(File)} does (a zip file gets a single entry named
+     * after the file, without the '.zip' extension), so it can be read back with {@link #readFile(File, String)}.
+     * <p/>
      * Created on Mar 2, 2012 by Fabian
      * @param input input string
      * @param file target file
      * @param encoding encoding to use
      */
     public static void writeFile(String input, File file, String encoding) throws IOException {
-        try (FileOutputStream fos = new FileOutputStream(file)) {
-            IOUtils.copy(new StringReader(input), fos, encoding);
+        writeFile(input, file, encoding, new FileWriteOptions());
+    }
+
+    /**
+     * Writes the given content to the given file using the provided options.
+     * <p/>
+     * The content is encoded directly into the file (or into the compressing stream if the extension of the file requires it, see
+     * {@link #writeFile(String, File, String)}) through fixed-size buffers, without creating an intermediate copy of the entire content; characters
+     * that can't be encoded are replaced by the replacement bytes of the encoding.
+     * @param content content to write
+     * @param file target file
+     * @param encoding encoding to use (if null, the default encoding is used)
+     * @param options the options to use, cannot be null
+     */
+    public static void writeFile(CharSequence content, File file, String encoding, FileWriteOptions options) throws IOException {
+        writeFiles(Collections.singletonMap(file, content), encoding, options);
+    }
+
+    /**
+     * Writes the given contents to their files using the provided options; the files are written one after the other, re-using the same encoder
+     * and buffers, the same way {@link #writeFile(CharSequence, File, String, FileWriteOptions)} does.
+     * <p/>
+     * This is more efficient than writing the files one by one when the writes are synchronized: the files are forced to the storage together
+     * once they are all written (which lets the file system group the commits), then the atomic writes are renamed, and finally each parent
+     * directory is forced once. With atomic writes, if any file can't be written, the temporary files are deleted and none of the targets is replaced;
+     * the targets are then renamed one after the other, so a failure while renaming them (which is unlikely) leaves the previous targets replaced.
+     * @param contents the contents to write, keyed by target file
+     * @param encoding encoding to use (if null, the default encoding is used)
+     * @param options the options to use, cannot be null
+     */
+    public static void writeFiles(Map<File, ? extends CharSequence> contents, String encoding, FileWriteOptions options) throws IOException {
+        CharsetEncoder encoder = Charsets.toCharset(encoding).newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(
+                CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(BufferPool.SMALL_BUFFER_SIZE);
+        BufferPool pool = BufferPool.getShared(BufferPool.MEDIUM_BUFFER_SIZE);
+        ByteBuffer bytes = pool.acquire();
+
+        // the files actually written (the temporary files for the atomic writes), keyed by target
+        Map<Path, Path> written = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<File, ? extends CharSequence> entry : contents.entrySet()) {
+                Path target = entry.getKey().toPath().toAbsolutePath();
+                Path path = target;
+                if (options.isAtomic())
+                    path = target.resolveSibling("." + target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+                written.put(target, path);
+                writeContent(entry.getValue(), path, target.getFileName().toString(), options.isAtomic(), encoder, chars, bytes);
+            }
+
+            if (options.isSync())
+                forceFiles(written.values());
+
+            if (options.isAtomic()) {
+                for (Map.Entry<Path, Path> entry : written.entrySet()) {
+                    try {
+                        Files.move(entry.getValue(), entry.getKey(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    catch (AtomicMoveNotSupportedException e) {
+                        Files.move(entry.getValue(), entry.getKey(), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+
+            if (options.isSync())
+                for (Path directory : new LinkedHashSet<>(written.keySet().stream().map(Path::getParent).toList()))
+                    forceDirectory(directory);
+        }
+        catch (IOException | RuntimeException e) {
+            // the temporary files already renamed don't exist anymore, so only the remaining ones are deleted
+            if (options.isAtomic()) {
+                for (Path path : written.values()) {
+                    try {
+                        Files.deleteIfExists(path);
+                    }
+                    catch (IOException e2) {
+                        e.addSuppressed(e2);
+                    }
+                }
+            }
+            throw e;
+        }
+        finally {
+            pool.release(bytes);
+        }
+    }
+
+    // encodes the content into the file, compressing it if its name requires it
+    private static void writeContent(CharSequence content, Path path, String name, boolean newFile, CharsetEncoder encoder, CharBuffer chars, ByteBuffer bytes)
+            throws IOException {
+        CompressionFormat format = getCompressionFormat(name);
+        OpenOption[] openOptions = newFile ? new OpenOption[] {StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE}
+                : new OpenOption[] {StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING};
+        try (FileChannel channel = FileChannel.open(path, openOptions)) {
+            if (format == null) {
+                encodeContent(content, encoder, chars, bytes, buffer -> {
+                    while (buffer.hasRemaining())
+                        channel.write(buffer);
+                });
+            }
+            else {
+                // the compressing stream must be finished without closing the channel, which is closed once all the data is written
+                try (OutputStream os = createCompressingStream(CloseShieldOutputStream.wrap(Channels.newOutputStream(channel)), format)) {
+                    if (os instanceof ZipOutputStream zipOutput)
+                        zipOutput.putNextEntry(new ZipEntry(name.substring(0, name.length() - ".zip".length())));
+                    encodeContent(content, encoder, chars, bytes, buffer -> os.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()));
+                }
+            }
+        }
+    }
+
+    // encodes the content through the provided (array-backed) buffers, handing the encoded bytes to the consumer every time the byte buffer is full
+    private static void encodeContent(CharSequence content, CharsetEncoder encoder, CharBuffer chars, ByteBuffer bytes, IOConsumer<ByteBuffer> consumer)
+            throws IOException {
+        encoder.reset();
+        chars.clear();
+        bytes.clear();
+
+        int length = content.length();
+        int position = 0;
+        boolean endOfInput;
+        do {
+            // the characters left by the previous iteration (an incomplete surrogate pair) are kept at the beginning of the buffer
+            int end = Math.min(length, position + chars.remaining());
+            getChars(content, position, end, chars.array(), chars.arrayOffset() + chars.position());
+            chars.position(chars.position() + end - position).flip();
+            position = end;
+            endOfInput = position == length;
+
+            while (encoder.encode(chars, bytes, endOfInput).isOverflow())
+                consumeBytes(bytes, consumer);
+            chars.compact();
+        }
+        while (!endOfInput);
+
+        while (encoder.flush(bytes).isOverflow())
+            consumeBytes(bytes, consumer);
+        consumeBytes(bytes, consumer);
+    }
+
+    private static void consumeBytes(ByteBuffer bytes, IOConsumer<ByteBuffer> consumer) throws IOException {
+        bytes.flip();
+        if (bytes.hasRemaining())
+            consumer.accept(bytes);
+        bytes.clear();
+    }
+
+    // copies the requested characters, using the bulk methods of the common implementations
+    private static void getChars(CharSequence content, int start, int end, char[] dest, int destStart) {
+        if (content instanceof String str)
+            str.getChars(start, end, dest, destStart);
+        else if (content instanceof StringBuilder builder)
+            builder.getChars(start, end, dest, destStart);
+        else if (content instanceof StringBuffer buffer)
+            buffer.getChars(start, end, dest, destStart);
+        else
+            for (int i = start; i < end; i++)
+                dest[destStart + i - start] = content.charAt(i);
+    }
+
+    // forces the files to the storage concurrently, which lets the file system group the commits
+    private static void forceFiles(Collection<Path> paths) throws IOException {
+        if (paths.size() == 1) {
+            try (FileChannel channel = FileChannel.open(paths.iterator().next(), StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            return;
+        }
+
+        List<Future<Void>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path path : paths)
+                futures.add(executor.submit(() -> {
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                        channel.force(true);
+                    }
+                    return null;
+                }));
+        }
+        try {
+            for (Future<Void> future : futures)
+                future.get();
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioe)
+                throw ioe;
+            throw new IOException("Unable to synchronize the files", e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Synchronization of the files was interrupted");
+        }
+    }
+
+    // forces the entries of the directory to the storage; not all the platforms allow a directory to be opened, in which case nothing is done
+    private static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        }
+        catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
         }
     }
 
     /**
-     * Creates an <code>InputStream</code> for the provided file based on its extension:
+     * Creates an <code>InputStream</code> for the provided file based on its content (or its extension if the content isn't recognized):
      * <ul>
-     * <li>if it ends with '.gz' or '.gzip', it will be considered as a GZipped file</li>
-     * <li>if it ends with '.zip', it will be considered as a Zipped file but an error will be generated if it contains more than one entry</li>
+     * <li>if it starts with the GZip signature (or ends with '.gz' or '.gzip'), it will be considered as a GZipped file</li>
+     * <li>if it starts with the Zip signature (or ends with '.zip'), it will be considered as a Zipped file but an error will be generated if it
+     * contains more than one entry</li>
+     * <li>if it starts with the LZ4 frame signature (or ends with '.lz4'), it will be considered as an LZ4 (framed) file</li>
+     * <li>if it starts with the Snappy stream identifier (or ends with '.sz'), it will be considered as a Snappy (framed) file</li>
      * <li>otherwise it is considered as a non-compressed file</li>
      * </ul>
      * <p/>
@@ -365,17 +1160,20 @@ public final class SeerUtils {
     }
 
     /**
-     * Creates an <code>InputStream</code> for the provided file based on its extension:
+     * Creates an <code>InputStream</code> for the provided file based on its content (or its extension if the content isn't recognized):
      * <ul>
-     * <li>if it ends with '.gz' or '.gzip', it will be considered as a GZipped file</li>
-     * <li>if it ends with '.zip', it will be considered as a Zipped file:
+     * <li>if it starts with the GZip signature (or ends with '.gz' or '.gzip'), it will be considered as a GZipped file</li>
+     * <li>if it ends with '.zip', it will be considered as a Zipped file (other zip-based files like jar or xlsx files are returned as they are):
      * <ul>
      * <li>If the file contains no entry, an exception is generated</li>
      * <li>If the file contains a single entry, a stream to that entry will be returned</li>
      * <li>If the file contains more than one entry and zipEntryToUse was provided, a stream to that entry will be returned</li>
      * <li>Otherwise an IOException will be generated</li>
      * </ul>
+     * The entry itself can be GZipped, LZ4 or Snappy compressed (based on its content, or its name).
      * </li>
+     * <li>if it starts with the LZ4 frame signature (or ends with '.lz4'), it will be considered as an LZ4 (framed) file</li>
+     * <li>if it starts with the Snappy stream identifier (or ends with '.sz'), it will be considered as a Snappy (framed) file</li>
      * <li>otherwise it is considered as a non-compressed file</li>
      * </ul>
      * <p/>
@@ -389,12 +1187,10 @@ public final class SeerUtils {
         if (file == null || !file.exists())
             throw new IOException("File does not exist.");
 
-        String name = file.getName().toLowerCase();
+        CompressionFormat format = getCompressionFormat(file);
 
         InputStream is;
-        if (name.endsWith(".gz") || name.endsWith(".gzip"))
-            is = new GZIPInputStream(Files.newInputStream(file.toPath()));
-        else if (name.endsWith(".zip")) {
+        if (format == CompressionFormat.ZIP) {
             ZipSecureFile zipFile = new ZipSecureFile(file);
 
             List<String> list = new ArrayList<>();
@@ -415,81 +1211,468 @@ public final class SeerUtils {
             else
                 throw new IOException("Zip file contains more than one file.");
 
-            // zip file could contain another compressed file; we are only supporting gzip or uncompressed!
-            if ((zipEntryToUse.endsWith(".gz") || zipEntryToUse.endsWith(".gzip")))
-                is = new GZIPInputStream(tmp);
-            else if (zipEntryToUse.endsWith(".zip"))
+            // zip file could contain another compressed file; we are supporting everything but zip!
+            PushbackInputStream pis = new PushbackInputStream(tmp, _MAX_SIGNATURE_LENGTH);
+            byte[] header = new byte[_MAX_SIGNATURE_LENGTH];
+            int length = IOUtils.read(pis, header);
+            pis.unread(header, 0, length);
+            CompressionFormat entryFormat = getCompressionFormat(header, length, zipEntryToUse);
+            if (entryFormat == CompressionFormat.ZIP)
                 throw new IOException("Zip files inside zip files is not supported.");
-            else
-                is = tmp;
+            is = createDecompressingStream(pis, entryFormat);
         }
         else
-            is = Files.newInputStream(file.toPath());
+            is = createDecompressingStream(Files.newInputStream(file.toPath()), format);
 
         return is;
     }
 
     /**
-     * Creates an <code>OutputStream</code> for the provided file based on its extension:
-     * <ul>
-     * <li>if it ends with '.gz' or '.gzip', it will be considered as a GZipped file</li>
-     * <li>if it ends with '.zip', it will be considered as a Zipped file (the caller is responsible for adding the entries)</li>
-     * <li>otherwise it is considered as a non-compressed file</li>
-     * </ul>
+     * Creates a decompressing <code>InputStream</code> for the provided stream based on its content (or the provided name if the content isn't
+     * recognized), the same way {@link #createInputStream(File, String)} does for a file; this can be used for data that is not in a file, like
+     * the resources of a jar file.
      * <p/>
-     * Created on Sep 19, 2011 by depryf
-     * @param file <code>File</code>, cannot be null (an exception will be thrown if it does not exist)
-     * @return an <code>OutputStream</code>, never null
+     * Zipped content (with a '.zip' name) is not supported; other zip-based content (jar, xlsx, etc...) is returned as it is.
+     * @param is the (compressed) stream, cannot be null
+     * @param name optional name of the data, only used to detect the compression format when the content isn't recognized
+     * @return an <code>InputStream</code>, never null
      */
-    public static OutputStream createOutputStream(File file) throws IOException {
-        OutputStream os;
-
-        String name = file.getName().toLowerCase();
-
-        if (name.endsWith(".gz") || name.endsWith(".gzip"))
-            os = new GZIPOutputStream(Files.newOutputStream(file.toPath()));
-        else if (name.endsWith(".zip"))
-            os = new ZipOutputStream(Files.newOutputStream(file.toPath()));
-        else
-            os = Files.newOutputStream(file.toPath());
+    public static InputStream createInputStream(InputStream is, String name) throws IOException {
+        if (is == null)
+            throw new IOException("Input Stream is null");
 
-        return os;
+        PushbackInputStream pis = new PushbackInputStream(is, _MAX_SIGNATURE_LENGTH);
+        byte[] header = new byte[_MAX_SIGNATURE_LENGTH];
+        int length = IOUtils.read(pis, header);
+        pis.unread(header, 0, length);
+        CompressionFormat format = getCompressionFormat(header, length, name == null ? "" : name);
+        if (format == CompressionFormat.ZIP)
+            throw new IOException("Zipped content is not supported.");
+        return createDecompressingStream(pis, format);
     }
 
     /**
-     * Pad the passed value up to the passed length using the passed string
+     * Creates an <code>InputStream</code> for the provided file based on its content, the same way {@link #createInputStream(File, String)} does,
+     * except that GZipped files made of several members (concatenated GZip files, or files written by block-compressing tools) are decompressed
+     * using several threads (see {@link ParallelGzipInputStream}).
      * <p/>
-     * Created on Dec 3, 2008 by depryf
-     * @param value value to pad
-     * @param length length of the result
-     * @param with character to pad with
-     * @param leftPad if true value will be left padded, otherwise it will be right padded
-     * @return padded value, maybe null
+     * GZipped files made of a single member are decompressed on a single background thread.
+     * @param file <code>File</code>, cannot be null (an exception will be thrown if it does not exist)
+     * @param zipEntryToUse if the zip file contains more than one entry
+     * @param numThreads maximum number of GZip members decompressed concurrently
+     * @return an <code>InputStream</code>, never null
      */
-    public static String pad(String value, int length, String with, boolean leftPad) {
-        if (value == null || value.length() >= length)
-            return value;
+    public static InputStream createInputStream(File file, String zipEntryToUse, int numThreads) throws IOException {
+        if (file == null || !file.exists())
+            throw new IOException("File does not exist.");
 
-        StringBuilder builder = new StringBuilder(value);
-        while (builder.length() < length)
-            if (leftPad)
-                builder.insert(0, with);
-            else
-                builder.append(with);
+        if (getCompressionFormat(file) == CompressionFormat.GZIP)
+            return new ParallelGzipInputStream(file.toPath(), numThreads);
 
-        return builder.toString();
+        return createInputStream(file, zipEntryToUse);
     }
 
     /**
-     * Trims only the left portion of the string.
-     * e.g.  "  97  " becomes "97  ".
+     * Creates an <code>InputStream</code> for the provided file based on its content, the same way {@link #createInputStream(File, String)} does,
+     * optionally reading (and decompressing) the file on a background thread.
      * <p/>
-     * Created on Jul 19, 2011 by murphyr
-     * @param value String that needs to be trimmed, can be null or empty
-     * @return left trimmed version of input String, return null if the incoming one is null
+     * With the read-ahead, the file is read into a fixed set of buffers (see {@link ReadAheadInputStream}) while the caller processes the data
+     * already read, so the parsing and the decompression run at the same time.
+     * @param file <code>File</code>, cannot be null (an exception will be thrown if it does not exist)
+     * @param zipEntryToUse if the zip file contains more than one entry
+     * @param readAhead if true, the file is read on a background thread
+     * @return an <code>InputStream</code>, never null
      */
-    public static String trimLeft(String value) {
-        if (value == null || value.isEmpty())
+    public static InputStream createInputStream(File file, String zipEntryToUse, boolean readAhead) throws IOException {
+        InputStream is = createInputStream(file, zipEntryToUse);
+        return readAhead ? new ReadAheadInputStream(is) : is;
+    }
+
+    /**
+     * Creates a single <code>InputStream</code> returning the content of all the provided files, one after the other (for example the parts of a
+     * split or rotated file).
+     * <p/>
+     * Each file is opened the same way {@link #createInputStream(File)} does (so the files can use different compressions); the next
+     * <code>numPrefetch</code> files are opened and decompressed in the background (see {@link MultiFileInputStream}).
+     * @param files the files to read, in order, cannot be null
+     * @param numPrefetch the number of files opened ahead of the one being read, 0 to open each file only when it's reached
+     * @return an <code>InputStream</code>, never null
+     */
+    public static InputStream createInputStream(List<File> files, int numPrefetch) throws IOException {
+        if (files == null)
+            throw new IOException("Files cannot be null.");
+        for (File file : files)
+            if (file == null || !file.exists())
+                throw new IOException("File does not exist" + (file == null ? "." : ": " + file.getPath()));
+
+        return new MultiFileInputStream(files, SeerUtils::createInputStream, numPrefetch);
+    }
+
+    /**
+     * Returns the (regular) files of the provided directory whose name matches the provided glob pattern, sorted by name.
+     * <p/>
+     * This can be used with {@link #createInputStream(List, int)} to read all the parts of a split file, as long as the parts are named so
+     * their natural order is the order of the data (like "data-001.txt.gz", "data-002.txt.gz", etc...).
+     * @param dir the directory containing the files, cannot be null
+     * @param glob optional glob pattern the names of the files must match (like "data-*.txt.gz"), null to return all the files
+     * @return the sorted files, maybe empty but never null
+     */
+    public static List<File> listFiles(File dir, String glob) throws IOException {
+        if (dir == null || !dir.isDirectory())
+            throw new IOException("Directory does not exist.");
+
+        PathMatcher matcher = glob == null ? null : FileSystems.getDefault().getPathMatcher("glob:" + glob);
+
+        List<File> result = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir.toPath())) {
+            for (Path path : stream)
+                if (Files.isRegularFile(path) && (matcher == null || matcher.matches(path.getFileName())))
+                    result.add(path.toFile());
+        }
+        result.sort(Comparator.comparing(File::getName));
+
+        return result;
+    }
+
+    /**
+     * Reads the content of the request file using the provided encoding asynchronously, the same way {@link #readFile(File, String)} does.
+     * <p/>
+     * The file is read on a virtual thread, and at most 128 asynchronous operations access the files at the same time (the other ones wait
+     * without holding any thread), so any number of reads can be requested at once. The returned future completes exceptionally with the
+     * <code>IOException</code> if the file can't be read; cancelling it before the read starts prevents the read.
+     * @param file <code>File</code> to read
+     * @param encoding encoding to use
+     * @return a future completed with the content of the file
+     */
+    public static CompletableFuture<String> readFileAsync(File file, String encoding) {
+        return runAsync(() -> readFile(file, encoding), null);
+    }
+
+    /**
+     * Reads the content of the request file using the provided encoding asynchronously, running the read on the provided executor (which controls
+     * the concurrency of the reads).
+     * @param file <code>File</code> to read
+     * @param encoding encoding to use
+     * @param executor the executor to use, cannot be null
+     * @return a future completed with the content of the file
+     */
+    public static CompletableFuture<String> readFileAsync(File file, String encoding, Executor executor) {
+        return runAsync(() -> readFile(file, encoding), executor);
+    }
+
+    /**
+     * Writes the given content to the given file asynchronously, the same way {@link #writeFile(CharSequence, File, String, FileWriteOptions)} does.
+     * <p/>
+     * The file is written on a virtual thread, with the same bounded concurrency as {@link #readFileAsync(File, String)}.
+     * @param content content to write
+     * @param file target file
+     * @param encoding encoding to use (if null, the default encoding is used)
+     * @param options the options to use, cannot be null
+     * @return a future completed once the file is written
+     */
+    public static CompletableFuture<Void> writeFileAsync(CharSequence content, File file, String encoding, FileWriteOptions options) {
+        return runAsync(() -> {
+            writeFile(content, file, encoding, options);
+            return null;
+        }, null);
+    }
+
+    /**
+     * Writes the given content to the given file asynchronously, running the write on the provided executor (which controls the concurrency of the
+     * writes).
+     * @param content content to write
+     * @param file target file
+     * @param encoding encoding to use (if null, the default encoding is used)
+     * @param options the options to use, cannot be null
+     * @param executor the executor to use, cannot be null
+     * @return a future completed once the file is written
+     */
+    public static CompletableFuture<Void> writeFileAsync(CharSequence content, File file, String encoding, FileWriteOptions options, Executor executor) {
+        return runAsync(() -> {
+            writeFile(content, file, encoding, options);
+            return null;
+        }, executor);
+    }
+
+    /**
+     * Creates an <code>InputStream</code> for the provided file asynchronously, the same way {@link #createInputStream(File, String)} does (the
+     * file is opened and its format detected on a virtual thread, with the same bounded concurrency as {@link #readFileAsync(File, String)}).
+     * <p/>
+     * Reading the returned stream is blocking; to read an entire file asynchronously, use {@link #readFileAsync(File, String)} instead.
+     * @param file <code>File</code>, cannot be null
+     * @param zipEntryToUse if the zip file contains more than one entry
+     * @return a future completed with the stream
+     */
+    public static CompletableFuture<InputStream> createInputStreamAsync(File file, String zipEntryToUse) {
+        return runAsync(() -> createInputStream(file, zipEntryToUse), null);
+    }
+
+    /**
+     * Creates an <code>InputStream</code> for the provided file asynchronously, running the operation on the provided executor.
+     * @param file <code>File</code>, cannot be null
+     * @param zipEntryToUse if the zip file contains more than one entry
+     * @param executor the executor to use, cannot be null
+     * @return a future completed with the stream
+     */
+    public static CompletableFuture<InputStream> createInputStreamAsync(File file, String zipEntryToUse, Executor executor) {
+        return runAsync(() -> createInputStream(file, zipEntryToUse), executor);
+    }
+
+    // runs the operation on the provided executor, or on a virtual thread (bounded by the permits) if there is none
+    private static <T> CompletableFuture<T> runAsync(IOSupplier<T> operation, Executor executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            if (future.isDone())
+                return;
+            try {
+                T result = operation.get();
+                // the caller cancelled the future while the operation was running, so nobody will close the result
+                if (!future.complete(result) && result instanceof Closeable closeable)
+                    IOUtils.closeQuietly(closeable);
+            }
+            catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        };
+
+        try {
+            if (executor != null)
+                executor.execute(task);
+            else {
+                _ASYNC_EXECUTOR.execute(() -> {
+                    try {
+                        _ASYNC_PERMITS.acquire();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        future.completeExceptionally(new InterruptedIOException("Asynchronous operation was interrupted"));
+                        return;
+                    }
+                    try {
+                        task.run();
+                    }
+                    finally {
+                        _ASYNC_PERMITS.release();
+                    }
+                });
+            }
+        }
+        catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Creates an <code>OutputStream</code> for the provided file based on its extension:
+     * <ul>
+     * <li>if it ends with '.gz' or '.gzip', it will be considered as a GZipped file</li>
+     * <li>if it ends with '.zip', it will be considered as a Zipped file (the caller is responsible for adding the entries)</li>
+     * <li>if it ends with '.lz4', it will be considered as an LZ4 (framed) file</li>
+     * <li>if it ends with '.sz', it will be considered as a Snappy (framed) file</li>
+     * <li>otherwise it is considered as a non-compressed file</li>
+     * </ul>
+     * <p/>
+     * The LZ4 and Snappy formats are supported to exchange files with other tools; the encoders are pure-Java implementations that are slower than
+     * the JDK (native) GZip encoder. To quickly write temporary files, use {@link #createOutputStream(File, int)} with a low compression level instead.
+     * <p/>
+     * Created on Sep 19, 2011 by depryf
+     * @param file <code>File</code>, cannot be null (an exception will be thrown if it does not exist)
+     * @return an <code>OutputStream</code>, never null
+     */
+    public static OutputStream createOutputStream(File file) throws IOException {
+        return createCompressingStream(Files.newOutputStream(file.toPath()), getCompressionFormat(file.getName()));
+    }
+
+    private static OutputStream createCompressingStream(OutputStream os, CompressionFormat format) throws IOException {
+        if (format == null)
+            return os;
+
+        return switch (format) {
+            case GZIP -> new GZIPOutputStream(os);
+            case ZIP -> new ZipOutputStream(os);
+            case LZ4 -> new FramedLZ4CompressorOutputStream(new BufferedOutputStream(os));
+            case SNAPPY -> new FramedSnappyCompressorOutputStream(new BufferedOutputStream(os), _SNAPPY_PARAMETERS);
+        };
+    }
+
+    /**
+     * Creates an <code>OutputStream</code> for the provided file based on its extension, the same way {@link #createOutputStream(File)} does,
+     * except that GZipped files are compressed using the provided compression level.
+     * <p/>
+     * The fastest level (<code>Deflater.BEST_SPEED</code>) is typically two to four times faster than the default one, for files about 30% bigger;
+     * that makes it a good choice for temporary files that are written and read back by the same process.
+     * @param file <code>File</code>, cannot be null
+     * @param compressionLevel the compression level (0-9 or -1 for the default level)
+     * @return an <code>OutputStream</code>, never null
+     */
+    public static OutputStream createOutputStream(File file, int compressionLevel) throws IOException {
+        if (compressionLevel < -1 || compressionLevel > 9)
+            throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+
+        String name = file.getName().toLowerCase();
+
+        if (name.endsWith(".gz") || name.endsWith(".gzip")) {
+            return new GZIPOutputStream(Files.newOutputStream(file.toPath()), 64 * 1024) {
+                {
+                    def.setLevel(compressionLevel);
+                }
+            };
+        }
+
+        return createOutputStream(file);
+    }
+
+    /**
+     * Creates an <code>OutputStream</code> for the provided file based on its extension, the same way {@link #createOutputStream(File)} does,
+     * except that GZipped files are compressed using several threads (see {@link ParallelGzipOutputStream}).
+     * <p/>
+     * The result is a regular GZip file that can be read by any GZip reader.
+     * @param file <code>File</code>, cannot be null
+     * @param blockSize the size of the blocks compressed independently (see {@link ParallelGzipOutputStream#DEFAULT_BLOCK_SIZE}), must be at least 32 KB
+     * @param numThreads the number of threads to use for the compression
+     * @return an <code>OutputStream</code>, never null
+     */
+    public static OutputStream createOutputStream(File file, int blockSize, int numThreads) throws IOException {
+        String name = file.getName().toLowerCase();
+
+        if (name.endsWith(".gz") || name.endsWith(".gzip"))
+            return new ParallelGzipOutputStream(Files.newOutputStream(file.toPath()), blockSize, numThreads);
+
+        return createOutputStream(file);
+    }
+
+    /**
+     * Creates an <code>OutputStream</code> for the provided file based on its extension, the same way {@link #createOutputStream(File)} does,
+     * except that the data of GZipped files is made available to the readers of the file while it's being written (see
+     * {@link StreamingGzipOutputStream}), using sync flushes.
+     * <p/>
+     * This is useful when another process reads (tails) the file while it's being written.
+     * @param file <code>File</code>, cannot be null
+     * @param maxPendingBytes the maximum amount of (uncompressed) data written before it's made available, 0 for no limit
+     * @param maxDelay the maximum time the written data waits before it's made available, null for no limit
+     * @return an <code>OutputStream</code>, never null
+     */
+    public static OutputStream createOutputStream(File file, long maxPendingBytes, Duration maxDelay) throws IOException {
+        String name = file.getName().toLowerCase();
+
+        if (name.endsWith(".gz") || name.endsWith(".gzip"))
+            return new StreamingGzipOutputStream(Files.newOutputStream(file.toPath()), maxPendingBytes, maxDelay);
+
+        return createOutputStream(file);
+    }
+
+    private static CompressionFormat getCompressionFormat(File file) throws IOException {
+        byte[] header = new byte[_MAX_SIGNATURE_LENGTH];
+        int length;
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            length = IOUtils.read(is, header);
+        }
+        return getCompressionFormat(header, length, file.getName());
+    }
+
+    // the content wins over the name; the name is only used when the content isn't recognized, so a corrupted file still fails like before; the
+    // zip signature is only trusted for a zip name since many other formats are zip archives (jar, xlsx, docx, odt, epub, etc...)
+    private static CompressionFormat getCompressionFormat(byte[] header, int length, String name) {
+        CompressionFormat nameFormat = getCompressionFormat(name);
+        for (CompressionFormat format : CompressionFormat.values())
+            if (format.matches(header, length) && (format != CompressionFormat.ZIP || nameFormat == CompressionFormat.ZIP))
+                return format;
+
+        return nameFormat;
+    }
+
+    // returns the format corresponding to the extension of the name, null if the extension isn't recognized
+    private static CompressionFormat getCompressionFormat(String name) {
+        String lowerName = name.toLowerCase();
+        for (CompressionFormat format : CompressionFormat.values())
+            for (String extension : format._extensions)
+                if (lowerName.endsWith(extension))
+                    return format;
+
+        return null;
+    }
+
+    private static InputStream createDecompressingStream(InputStream is, CompressionFormat format) throws IOException {
+        if (format == null)
+            return is;
+
+        return switch (format) {
+            case GZIP -> new GZIPInputStream(is);
+            // those streams read the compressed data one byte at a time
+            case LZ4 -> new FramedLZ4CompressorInputStream(new BufferedInputStream(is), true);
+            case SNAPPY -> new FramedSnappyCompressorInputStream(new BufferedInputStream(is));
+            default -> is;
+        };
+    }
+
+    /**
+     * The compression formats recognized by createInputStream, with their signature and the extensions used when the signature isn't found (the
+     * zip signature also requires the zip extension).
+     */
+    private enum CompressionFormat {
+
+        GZIP(new byte[] {0x1f, (byte)0x8b}, ".gz", ".gzip"),
+        ZIP(new byte[] {'P', 'K'}, ".zip"),
+        LZ4(new byte[] {0x04, 0x22, 0x4d, 0x18}, ".lz4"),
+        SNAPPY(new byte[] {(byte)0xff, 0x06, 0x00, 0x00, 's', 'N', 'a', 'P', 'p', 'Y'}, ".sz");
+
+        private final byte[] _signature;
+
+        private final String[] _extensions;
+
+        CompressionFormat(byte[] signature, String... extensions) {
+            _signature = signature;
+            _extensions = extensions;
+        }
+
+        private boolean matches(byte[] header, int length) {
+            if (length < _signature.length || !Arrays.equals(header, 0, _signature.length, _signature, 0, _signature.length))
+                return false;
+
+            // a zip file starts with a local file header, or with the end of central directory for an empty archive, or with a spanning marker
+            if (this == ZIP)
+                return length >= 4 && ((header[2] == 3 && header[3] == 4) || (header[2] == 5 && header[3] == 6) || (header[2] == 7 && header[3] == 8));
+
+            return true;
+        }
+    }
+
+    /**
+     * Pad the passed value up to the passed length using the passed string
+     * <p/>
+     * Created on Dec 3, 2008 by depryf
+     * @param value value to pad
+     * @param length length of the result
+     * @param with character to pad with
+     * @param leftPad if true value will be left padded, otherwise it will be right padded
+     * @return padded value, maybe null
+     */
+    public static String pad(String value, int length, String with, boolean leftPad) {
+        if (value == null || value.length() >= length)
+            return value;
+
+        StringBuilder builder = new StringBuilder(value);
+        while (builder.length() < length)
+            if (leftPad)
+                builder.insert(0, with);
+            else
+                builder.append(with);
+
+        return builder.toString();
+    }
+
+    /**
+     * Trims only the left portion of the string.
+     * e.g.  "  97  " becomes "97  ".
+     * <p/>
+     * Created on Jul 19, 2011 by murphyr
+     * @param value String that needs to be trimmed, can be null or empty
+     * @return left trimmed version of input String, return null if the incoming one is null
+     */
+    public static String trimLeft(String value) {
+        if (value == null || value.isEmpty())
             return value;
         char[] val = value.toCharArray();
         int st = 0;
@@ -623,8 +1806,9 @@ public final class SeerUtils {
 
         for (File f : files) {
             if (f.isFile()) {
-                try (InputStream is = Files.newInputStream(f.toPath())) {
-                    copyInputStreamToOutputStream(is, Files.newOutputStream(new File(to, f.getName()).toPath()));
+                // file streams, so the content is transferred by their channels
+                try (InputStream is = new FileInputStream(f)) {
+                    copyInputStreamToOutputStream(is, new FileOutputStream(new File(to, f.getName())));
                 }
             }
             else
@@ -632,12 +1816,482 @@ public final class SeerUtils {
         }
     }
 
+    /**
+     * Copies the given directory into the requested directory using the provided options; any file and subfolders will be copied.
+     * <p/>
+     * The directory is walked on the calling thread while the files are copied on virtual threads (at most <code>options.getNumThreads()</code>
+     * files at the same time) using <code>FileChannel.transferTo</code> (or <code>Files.copy</code> when the attributes are preserved), which lets the
+     * operating system copy the data. Existing target files are replaced.
+     * <p/>
+     * If some files can't be copied, a {@link DirectoryOperationException} containing all the failures is thrown once the files being copied are
+     * completed; depending on the options, the other files are copied or not.
+     * <p/>
+     * If the cancellation token of the options is cancelled, the copy stops (the token is checked between files and between chunks of data) and an
+     * <code>InterruptedIOException</code> is thrown; the partially copied files are deleted, and so is the target directory if it was created by
+     * the copy (files that were entirely copied to an existing target directory are left as-is).
+     * @param from source directory, must exist
+     * @param to target directory, if it doesn't exist, it will be created; it can't be inside the source directory
+     * @param options the options to use, cannot be null
+     */
+    public static void copyDirectory(File from, File to, DirectoryCopyOptions options) throws IOException {
+        transferDirectory(from, to, options, null);
+    }
+
+    /**
+     * Synchronizes the requested directory with the given directory: only the files that are new or that changed are copied, and optionally the
+     * files that are not in the source directory anymore are deleted.
+     * <p/>
+     * A file is considered unchanged if its size and its last modified time are the same in both directories (and if requested, its content),
+     * so the last modified time of the copied files is always preserved, regardless of the options. The files are copied the same way
+     * {@link #copyDirectory(File, File, DirectoryCopyOptions)} does.
+     * @param from source directory, must exist
+     * @param to target directory, if it doesn't exist, it will be created; it can't be inside the source directory
+     * @param options the options to use, cannot be null
+     * @return a report of the changes made to the target directory
+     */
+    public static DirectorySyncReport syncDirectory(File from, File to, DirectorySyncOptions options) throws IOException {
+        SyncState state = new SyncState();
+        transferDirectory(from, to, options, state);
+
+        List<Path> added = new ArrayList<>(state._added);
+        List<Path> updated = new ArrayList<>(state._updated);
+        Collections.sort(added);
+        Collections.sort(updated);
+        Collections.sort(state._deleted);
+        return new DirectorySyncReport(added, updated, state._deleted, state._numUnchanged.get(), state._numBytesCopied.get());
+    }
+
+    // the state of a synchronization; the queues and counters are updated by the copying threads, the sets only by the walking thread
+    private static final class SyncState {
+
+        private final Queue<Path> _added = new ConcurrentLinkedQueue<>();
+        private final Queue<Path> _updated = new ConcurrentLinkedQueue<>();
+        private final List<Path> _deleted = new ArrayList<>();
+        private final AtomicInteger _numUnchanged = new AtomicInteger();
+        private final AtomicLong _numBytesCopied = new AtomicLong();
+        private final Set<Path> _sourceFiles = new HashSet<>();
+        private final Set<Path> _sourceDirectories = new HashSet<>();
+    }
+
+    // profiles a sequence of bytes; the lines and offsets are relative to the sequence until it's merged into the scanner of the previous bytes
+    private static final class ProfileScanner {
+
+        private final int _maxNonAsciiBytes;
+        private final List<FileProfile.NonAsciiByte> _nonAsciiBytes = new ArrayList<>();
+        private final SortedMap<Integer, Long> _longLineLengths = new TreeMap<>();
+        private long[] _lineLengths = new long[128];
+        private long _offset;
+        private long _numBytes;
+        private long _numLines;
+        private long _numLf;
+        private long _numCrLf;
+        private long _numCr;
+        private long _numNonAscii;
+        private int _minLength = Integer.MAX_VALUE;
+        private int _maxLength;
+        private long _currentLength;
+        private boolean _pendingCr;
+
+        private ProfileScanner(long offset, int maxNonAsciiBytes) {
+            _offset = offset;
+            _maxNonAsciiBytes = maxNonAsciiBytes;
+        }
+
+        private void scan(ByteBuffer bytes) {
+            int i = bytes.position();
+            int limit = bytes.limit();
+            while (i < limit) {
+                // most words are made of printable characters only, they are simply added to the current line
+                if (!_pendingCr && i <= limit - Long.BYTES && isPrintableWord(bytes.getLong(i))) {
+                    _currentLength += Long.BYTES;
+                    i += Long.BYTES;
+                    continue;
+                }
+
+                byte b = bytes.get(i);
+                if (_pendingCr) {
+                    _pendingCr = false;
+                    if (b == '\n') {
+                        _numCrLf++;
+                        endLine();
+                        i++;
+                        continue;
+                    }
+                    _numCr++;
+                    endLine();
+                }
+                if (b == '\n') {
+                    _numLf++;
+                    endLine();
+                }
+                else if (b == '\r')
+                    _pendingCr = true;
+                else {
+                    if (!isAllowed(_ASCII_MASK, b)) {
+                        _numNonAscii++;
+                        if (_nonAsciiBytes.size() < _maxNonAsciiBytes)
+                            _nonAsciiBytes.add(new FileProfile.NonAsciiByte(_offset + i - bytes.position(), _numLines + 1, b & 0xFF));
+                    }
+                    _currentLength++;
+                }
+                i++;
+            }
+            _offset += limit - bytes.position();
+            _numBytes += limit - bytes.position();
+        }
+
+        private ProfileScanner finish() {
+            if (_pendingCr) {
+                _pendingCr = false;
+                _numCr++;
+                endLine();
+            }
+            else if (_currentLength > 0)
+                endLine();
+            return this;
+        }
+
+        private void endLine() {
+            int length = (int)Math.min(_currentLength, Integer.MAX_VALUE);
+            _numLines++;
+            _minLength = Math.min(_minLength, length);
+            _maxLength = Math.max(_maxLength, length);
+            if (length < _PROFILE_MAX_COUNTED_LENGTH) {
+                if (length >= _lineLengths.length)
+                    _lineLengths = Arrays.copyOf(_lineLengths, Math.min(_PROFILE_MAX_COUNTED_LENGTH, Math.max(length + 1, _lineLengths.length * 2)));
+                _lineLengths[length]++;
+            }
+            else
+                _longLineLengths.merge(length, 1L, Long::sum);
+            _currentLength = 0;
+        }
+
+        // adds the (finished) scanner of the bytes following the ones of this scanner
+        private void merge(ProfileScanner next) {
+            for (FileProfile.NonAsciiByte nonAscii : next._nonAsciiBytes) {
+                if (_nonAsciiBytes.size() >= _maxNonAsciiBytes)
+                    break;
+                _nonAsciiBytes.add(new FileProfile.NonAsciiByte(nonAscii.getOffset(), _numLines + nonAscii.getLineNumber(), nonAscii.getValue()));
+            }
+            if (next._lineLengths.length > _lineLengths.length)
+                _lineLengths = Arrays.copyOf(_lineLengths, next._lineLengths.length);
+            for (int length = 0; length < next._lineLengths.length; length++)
+                _lineLengths[length] += next._lineLengths[length];
+            next._longLineLengths.forEach((length, count) -> _longLineLengths.merge(length, count, Long::sum));
+            _numBytes += next._numBytes;
+            _numLines += next._numLines;
+            _numLf += next._numLf;
+            _numCrLf += next._numCrLf;
+            _numCr += next._numCr;
+            _numNonAscii += next._numNonAscii;
+            _minLength = Math.min(_minLength, next._minLength);
+            _maxLength = Math.max(_maxLength, next._maxLength);
+        }
+
+        private FileProfile toProfile() {
+            SortedMap<Integer, Long> lengths = new TreeMap<>(_longLineLengths);
+            for (int length = 0; length < _lineLengths.length; length++)
+                if (_lineLengths[length] > 0)
+                    lengths.put(length, _lineLengths[length]);
+            return new FileProfile(_numBytes, _numLines, _numLines == 0 ? 0 : _minLength, _maxLength, lengths, _numLf, _numCrLf, _numCr, _numNonAscii,
+                    _nonAsciiBytes);
+        }
+    }
+
+    private static void transferDirectory(File from, File to, DirectoryCopyOptions options, SyncState sync) throws IOException {
+        if (!from.exists())
+            throw new IOException("Source directory does not exist.");
+        if (!from.isDirectory())
+            throw new IOException("Source is not a directory.");
+        if (to.exists() && !to.isDirectory())
+            throw new IOException("Target is not a directory.");
+
+        Path source = from.toPath().toAbsolutePath().normalize();
+        Path target = to.toPath().toAbsolutePath().normalize();
+        if (target.startsWith(source))
+            throw new IOException("Target directory cannot be inside the source directory.");
+
+        CancellationToken token = options.getCancellationToken();
+        boolean createdTarget = !to.exists();
+
+        Queue<IOException> failures = new ConcurrentLinkedQueue<>();
+        // copying the files changes the modification time of the directories, so it's restored at the end
+        Map<Path, FileTime> directoryTimes = new LinkedHashMap<>();
+        Semaphore permits = new Semaphore(options.getNumThreads());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Files.walkFileTree(source, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if ((!options.isContinueOnError() && !failures.isEmpty()) || (token != null && token.isCancelled()))
+                        return FileVisitResult.TERMINATE;
+
+                    Path relativeDir = source.relativize(dir);
+                    Path targetDir = target.resolve(relativeDir);
+                    if (sync != null)
+                        sync._sourceDirectories.add(relativeDir);
+                    try {
+                        if (options.isPreserveAttributes() && !Files.exists(targetDir)) {
+                            Files.copy(dir, targetDir, StandardCopyOption.COPY_ATTRIBUTES);
+                            directoryTimes.put(targetDir, attrs.lastModifiedTime());
+                        }
+                        else
+                            Files.createDirectories(targetDir);
+                    }
+                    catch (IOException e) {
+                        failures.add(new IOException("Unable to create '" + targetDir + "'", e));
+                        return options.isContinueOnError() ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.TERMINATE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if ((!options.isContinueOnError() && !failures.isEmpty()) || (token != null && token.isCancelled()))
+                        return FileVisitResult.TERMINATE;
+
+                    Path relativeFile = source.relativize(file);
+                    if (sync != null)
+                        sync._sourceFiles.add(relativeFile);
+
+                    // with a single thread, handing the copies to another thread would only add some overhead
+                    if (options.getNumThreads() == 1) {
+                        transferFile(file, attrs, target, relativeFile, options, sync, failures);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    try {
+                        permits.acquire();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Copy of '" + from.getPath() + "' was interrupted");
+                    }
+                    executor.execute(() -> {
+                        try {
+                            transferFile(file, attrs, target, relativeFile, options, sync, failures);
+                        }
+                        finally {
+                            permits.release();
+                        }
+                    });
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    failures.add(exc);
+                    return options.isContinueOnError() ? FileVisitResult.CONTINUE : FileVisitResult.TERMINATE;
+                }
+            });
+        }
+
+        if (token != null && token.isCancelled()) {
+            InterruptedIOException cancelled = new InterruptedIOException((sync == null ? "Copy" : "Synchronization") + " of '" + from.getPath() + "' was cancelled");
+            if (createdTarget && to.exists()) {
+                try {
+                    deleteDirectory(to, true, 1);
+                }
+                catch (IOException e) {
+                    cancelled.addSuppressed(e);
+                }
+            }
+            throw cancelled;
+        }
+
+        for (Map.Entry<Path, FileTime> entry : directoryTimes.entrySet()) {
+            try {
+                Files.setLastModifiedTime(entry.getKey(), entry.getValue());
+            }
+            catch (IOException e) {
+                failures.add(e);
+            }
+        }
+
+        // the extraneous files are deleted only if the source was entirely walked
+        if (sync != null && ((DirectorySyncOptions)options).isDeleteExtraneous() && failures.isEmpty())
+            deleteExtraneousFiles(target, sync, failures);
+
+        if (!failures.isEmpty())
+            throw new DirectoryOperationException("Unable to " + (sync == null ? "copy" : "synchronize") + " '" + from.getPath() + "'", new ArrayList<>(failures));
+    }
+
+    private static void transferFile(Path file, BasicFileAttributes attrs, Path target, Path relativeFile, DirectoryCopyOptions options, SyncState sync,
+            Queue<IOException> failures) {
+        Path targetFile = target.resolve(relativeFile);
+        if (sync == null) {
+            copyFile(file, targetFile, options, failures);
+            return;
+        }
+
+        try {
+            BasicFileAttributes targetAttrs = Files.exists(targetFile) ? Files.readAttributes(targetFile, BasicFileAttributes.class) : null;
+            if (targetAttrs != null && targetAttrs.size() == attrs.size() && targetAttrs.lastModifiedTime().toMillis() == attrs.lastModifiedTime().toMillis()
+                    && (!((DirectorySyncOptions)options).isCompareContent() || Files.mismatch(file, targetFile) == -1)) {
+                sync._numUnchanged.incrementAndGet();
+                return;
+            }
+
+            if (copyFile(file, targetFile, options, failures)) {
+                // the time needs to be preserved, otherwise the file would be copied again on the next synchronization
+                if (!options.isPreserveAttributes())
+                    Files.setLastModifiedTime(targetFile, attrs.lastModifiedTime());
+                (targetAttrs == null ? sync._added : sync._updated).add(relativeFile);
+                sync._numBytesCopied.addAndGet(attrs.size());
+            }
+        }
+        catch (IOException e) {
+            failures.add(new IOException("Unable to synchronize '" + file + "'", e));
+        }
+    }
+
+    // the deletion doesn't stop at the first failure, every extraneous file that can be deleted is deleted and each failure is reported
+    private static void deleteExtraneousFiles(Path target, SyncState sync, Queue<IOException> failures) {
+        // a directory containing a file that couldn't be deleted can't be deleted either, that's not worth reporting again
+        List<Path> failedPaths = new ArrayList<>();
+        try {
+            Files.walkFileTree(target, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    Path relativeFile = target.relativize(file);
+                    if (!sync._sourceFiles.contains(relativeFile)) {
+                        try {
+                            Files.delete(file);
+                            sync._deleted.add(relativeFile);
+                        }
+                        catch (IOException e) {
+                            failedPaths.add(file);
+                            failures.add(e);
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    failedPaths.add(file);
+                    failures.add(exc);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                    if (exc != null) {
+                        failedPaths.add(dir);
+                        failures.add(exc);
+                        return FileVisitResult.CONTINUE;
+                    }
+                    Path relativeDir = target.relativize(dir);
+                    if (!sync._sourceDirectories.contains(relativeDir)) {
+                        try {
+                            Files.delete(dir);
+                            sync._deleted.add(relativeDir);
+                        }
+                        catch (DirectoryNotEmptyException e) {
+                            if (failedPaths.stream().noneMatch(p -> p.startsWith(dir)))
+                                failures.add(e);
+                            failedPaths.add(dir);
+                        }
+                        catch (IOException e) {
+                            failedPaths.add(dir);
+                            failures.add(e);
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        catch (IOException e) {
+            failures.add(new IOException("Unable to delete the extraneous files of '" + target + "'", e));
+        }
+    }
+
+    // returns true if the file was copied, false if it failed (the failure is added to the queue)
+    private static boolean copyFile(Path from, Path to, DirectoryCopyOptions options, Queue<IOException> failures) {
+        RateLimiter limiter = options.getRateLimiter();
+        CancellationToken token = options.getCancellationToken();
+        try {
+            // Files.copy deletes the existing target first, the channels only need to truncate it (and can be throttled or cancelled)
+            if (options.isPreserveAttributes() && limiter == null && token == null)
+                Files.copy(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            else {
+                try (FileChannel input = FileChannel.open(from);
+                     FileChannel output = FileChannel.open(to, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    long size = input.size();
+                    long chunkSize = size;
+                    if (limiter != null)
+                        chunkSize = Math.min(BufferPool.MEDIUM_BUFFER_SIZE, limiter.getMaxBurst());
+                    else if (token != null)
+                        chunkSize = BufferPool.LARGE_BUFFER_SIZE;
+                    long position = 0;
+                    while (position < size) {
+                        long count = Math.min(chunkSize, size - position);
+                        if (token != null)
+                            token.throwIfCancelled();
+                        if (limiter != null)
+                            limiter.acquire(count);
+                        long n = input.transferTo(position, count, output);
+                        if (n <= 0)
+                            break;
+                        position += n;
+                    }
+                }
+                if (options.isPreserveAttributes())
+                    copyAttributes(from, to);
+            }
+            return true;
+        }
+        catch (InterruptedIOException e) {
+            // a partially copied file is never left behind
+            try {
+                Files.deleteIfExists(to);
+            }
+            catch (IOException e2) {
+                e.addSuppressed(e2);
+            }
+            failures.add(e);
+            return false;
+        }
+        catch (IOException e) {
+            failures.add(new IOException("Unable to copy '" + from + "'", e));
+            return false;
+        }
+    }
+
+    // copies the times and the permissions (when supported), which is what Files.copy does with COPY_ATTRIBUTES
+    private static void copyAttributes(Path from, Path to) throws IOException {
+        PosixFileAttributeView posixView = Files.getFileAttributeView(to, PosixFileAttributeView.class);
+        if (posixView != null && Files.getFileAttributeView(from, PosixFileAttributeView.class) != null) {
+            PosixFileAttributes attrs = Files.readAttributes(from, PosixFileAttributes.class);
+            posixView.setPermissions(attrs.permissions());
+            posixView.setTimes(attrs.lastModifiedTime(), attrs.lastAccessTime(), attrs.creationTime());
+        }
+        else {
+            BasicFileAttributes attrs = Files.readAttributes(from, BasicFileAttributes.class);
+            Files.getFileAttributeView(to, BasicFileAttributeView.class).setTimes(attrs.lastModifiedTime(), attrs.lastAccessTime(), attrs.creationTime());
+        }
+    }
+
     /**
      * Deletes the requested directory and anything it contains.
      * @param dir directory to delete, must exist
      */
     public static void deleteDirectory(File dir) throws IOException {
-        deleteDirectory(dir, true);
+        deleteDirectory(dir, true, 1);
+    }
+
+    /**
+     * Deletes the requested directory and anything it contains, deleting the files on several (virtual) threads.
+     * <p/>
+     * The directory is walked without loading the content of entire directories in memory and without following the symbolic links below it (the
+     * links are deleted, not their targets); if the directory itself is a symbolic link, its target is emptied and the link is deleted. The deletion
+     * doesn't stop at the first failure: all the files that can be deleted are deleted, and the failures are reported in a single
+     * {@link DirectoryOperationException}.
+     * @param dir directory to delete, must exist
+     * @param numThreads maximum number of files deleted at the same time; if 1, the files are deleted on the calling thread
+     */
+    public static void deleteDirectory(File dir, int numThreads) throws IOException {
+        deleteDirectory(dir, true, numThreads);
     }
 
     /**
@@ -645,28 +2299,114 @@ public final class SeerUtils {
      * @param dir directory to empty, must exist
      */
     public static void emptyDirectory(File dir) throws IOException {
-        deleteDirectory(dir, false);
+        deleteDirectory(dir, false, 1);
+    }
+
+    /**
+     * Empties the requested directory, deleting the files on several (virtual) threads; after the call the directory will still exists but will
+     * be empty. See {@link #deleteDirectory(File, int)}.
+     * @param dir directory to empty, must exist
+     * @param numThreads maximum number of files deleted at the same time; if 1, the files are deleted on the calling thread
+     */
+    public static void emptyDirectory(File dir, int numThreads) throws IOException {
+        deleteDirectory(dir, false, numThreads);
     }
 
-    private static void deleteDirectory(File dir, boolean deleteRoot) throws IOException {
+    private static void deleteDirectory(File dir, boolean deleteRoot, int numThreads) throws IOException {
         if (!dir.exists())
             return;
         if (!dir.isDirectory())
             throw new IOException("File is not a directory.");
+        if (numThreads < 1)
+            throw new IllegalArgumentException("Number of threads must be at least 1.");
+
+        // the walk starts from the real directory, so a root that is a symbolic link is emptied (the links below the root are still not followed)
+        Path root = dir.toPath().toRealPath();
+        Queue<IOException> failures = new ConcurrentLinkedQueue<>();
+        // the directories can only be deleted once their files are, so they are deleted at the end (children first)
+        List<Path> directories = new ArrayList<>();
+        Semaphore permits = new Semaphore(numThreads);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (numThreads == 1) {
+                        deleteFile(file, failures);
+                        return FileVisitResult.CONTINUE;
+                    }
 
-        File[] files = dir.listFiles();
-        if (files == null)
-            throw new IOException("Unable to read from source directory");
+                    try {
+                        permits.acquire();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Deletion of '" + dir.getPath() + "' was interrupted");
+                    }
+                    executor.execute(() -> {
+                        try {
+                            deleteFile(file, failures);
+                        }
+                        finally {
+                            permits.release();
+                        }
+                    });
+                    return FileVisitResult.CONTINUE;
+                }
 
-        for (File f : files) {
-            if (f.isFile())
-                Files.delete(f.toPath());
-            else
-                deleteDirectory(f, true);
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    failures.add(exc);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path d, IOException exc) {
+                    if (exc != null)
+                        failures.add(exc);
+                    else if (!d.equals(root))
+                        directories.add(d);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
         }
 
+        // if the root is a symbolic link, the link itself is deleted (not its target)
         if (deleteRoot)
-            Files.delete(dir.toPath());
+            directories.add(dir.toPath());
+
+        // a directory containing a file that couldn't be deleted can't be deleted either, that's not worth reporting again
+        List<Path> failedPaths = new ArrayList<>();
+        for (IOException failure : failures)
+            if (failure instanceof FileSystemException fse && fse.getFile() != null)
+                failedPaths.add(Paths.get(fse.getFile()));
+        for (Path directory : directories) {
+            try {
+                Files.delete(directory);
+            }
+            catch (DirectoryNotEmptyException e) {
+                if (failedPaths.stream().noneMatch(p -> p.startsWith(directory)))
+                    failures.add(e);
+            }
+            catch (IOException e) {
+                failures.add(e);
+            }
+        }
+
+        if (!failures.isEmpty())
+            throw new DirectoryOperationException("Unable to delete '" + dir.getPath() + "'", new ArrayList<>(failures));
+    }
+
+    private static void deleteFile(Path file, Queue<IOException> failures) {
+        try {
+            Files.delete(file);
+        }
+        catch (NoSuchFileException e) {
+            // already deleted by someone else, that's fine
+        }
+        catch (IOException e) {
+            failures.add(e);
+        }
     }
 
     /**
@@ -678,12 +2418,49 @@ public final class SeerUtils {
         zipFiles(Collections.singletonList(file), to);
     }
 
+    /**
+     * Zips the provided file to the requested zip file, limiting the rate at which the data is read from the file. If the file is a directory, the
+     * entire content will be zipped.
+     * @param file file to zip (can be a directory or a file), must exist
+     * @param to the zip file to create, it must end with the extension '.zip'
+     * @param limiter optional rate limiter applied to the uncompressed data (if null, the operation is not throttled)
+     */
+    public static void zipFile(File file, File to, RateLimiter limiter) throws IOException {
+        zipFiles(Collections.singletonList(file), to, limiter);
+    }
+
     /**
      * Zips the provided files to the requested file. If any file is a directory, the entire content will be zipped.
      * @param files files to zip (can be a directories or a files), must exist
      * @param to the zip file to create, it must end with the extension '.zip'
      */
     public static void zipFiles(List<File> files, File to) throws IOException {
+        zipFiles(files, to, null);
+    }
+
+    /**
+     * Zips the provided files to the requested file, limiting the rate at which the data is read from the files. If any file is a directory, the
+     * entire content will be zipped.
+     * @param files files to zip (can be a directories or a files), must exist
+     * @param to the zip file to create, it must end with the extension '.zip'
+     * @param limiter optional rate limiter applied to the uncompressed data (if null, the operation is not throttled)
+     */
+    public static void zipFiles(List<File> files, File to, RateLimiter limiter) throws IOException {
+        zipFiles(files, to, limiter, null);
+    }
+
+    /**
+     * Zips the provided files to the requested file, limiting the rate at which the data is read from the files and stopping if the provided token
+     * is cancelled. If any file is a directory, the entire content will be zipped.
+     * <p/>
+     * The token is checked before each entry and between chunks of data; if the operation is cancelled (or interrupted), the partial zip file is
+     * deleted and an <code>InterruptedIOException</code> is thrown.
+     * @param files files to zip (can be a directories or a files), must exist
+     * @param to the zip file to create, it must end with the extension '.zip'
+     * @param limiter optional rate limiter applied to the uncompressed data (if null, the operation is not throttled)
+     * @param token optional cancellation token (if null, the operation can't be cancelled)
+     */
+    public static void zipFiles(List<File> files, File to, RateLimiter limiter, CancellationToken token) throws IOException {
         if (!to.getName().toLowerCase().endsWith(".zip"))
             throw new IOException("Target file must end with 'zip'.");
 
@@ -691,23 +2468,97 @@ public final class SeerUtils {
             for (File file : files) {
                 if (!file.exists())
                     throw new IOException("Source directory does not exist.");
-                internalZip(file, zipOutput, file.getParentFile().getAbsolutePath().length());
+                internalZip(file, zipOutput, file.getParentFile().getAbsolutePath().length(), limiter, token);
             }
         }
+        catch (InterruptedIOException e) {
+            Files.deleteIfExists(to.toPath());
+            throw e;
+        }
     }
 
-    private static void internalZip(File file, ZipOutputStream zipOutput, int topDirLength) throws IOException {
+    private static void internalZip(File file, ZipOutputStream zipOutput, int topDirLength, RateLimiter limiter, CancellationToken token) throws IOException {
+        if (token != null)
+            token.throwIfCancelled();
         String relative = file.getAbsolutePath().substring(topDirLength).replace('\\', '/').substring(1);
         if (file.isDirectory() && !relative.endsWith("/"))
             relative += "/";
         zipOutput.putNextEntry(new ZipEntry(relative));
         if (file.isFile())
-            copyInputStreamToOutputStream(Files.newInputStream(file.toPath()), zipOutput, false);
+            copyInputStreamToOutputStream(Files.newInputStream(file.toPath()), zipOutput, false, limiter, token);
         else {
             File[] files = file.listFiles();
             if (files != null)
                 for (File f : files)
-                    internalZip(f, zipOutput, topDirLength);
+                    internalZip(f, zipOutput, topDirLength, limiter, token);
+        }
+    }
+
+    /**
+     * Updates the provided zip file: the requested entries are added (or replaced if they already exist) or deleted, and all the other entries are
+     * copied as-is, without being decompressed and re-compressed; the cost of the update is therefore proportional to the size of the change, not to
+     * the size of the archive.
+     * <p/>
+     * The new archive is written to a temporary file in the same directory, which is then moved over the original file; if anything goes wrong,
+     * the original file is left untouched.
+     * @param zipFile zip file to update, must exist and be a valid zip file
+     * @param entriesToAdd entries to add or replace, keyed by entry name; if a file is a directory, its entire content will be added under that name (can be null)
+     * @param entriesToDelete names of the entries to delete; a name ending with '/' deletes that directory and everything under it (can be null)
+     */
+    public static void updateZipFile(File zipFile, Map<String, File> entriesToAdd, Collection<String> entriesToDelete) throws IOException {
+        if (!zipFile.exists())
+            throw new IOException("Source file does not exist.");
+        if (!zipFile.isFile())
+            throw new IOException("Source is not a file.");
+
+        Map<String, File> toAdd = entriesToAdd == null ? Collections.emptyMap() : entriesToAdd;
+        for (File file : toAdd.values())
+            if (!file.exists())
+                throw new IOException("File '" + file.getPath() + "' does not exist.");
+
+        // any entry that is added or deleted is not copied from the original archive; directories also remove everything under them
+        Set<String> removedEntries = new HashSet<>();
+        List<String> removedDirectories = new ArrayList<>();
+        if (entriesToDelete != null)
+            removedEntries.addAll(entriesToDelete);
+        for (Map.Entry<String, File> entry : toAdd.entrySet())
+            removedEntries.add(entry.getValue().isDirectory() && !entry.getKey().endsWith("/") ? (entry.getKey() + "/") : entry.getKey());
+        for (String name : removedEntries)
+            if (name.endsWith("/"))
+                removedDirectories.add(name);
+
+        File tmpFile = File.createTempFile(zipFile.getName(), ".tmp", zipFile.getAbsoluteFile().getParentFile());
+        try {
+            try (ZipSecureFile source = new ZipSecureFile(zipFile); ZipArchiveOutputStream zipOutput = new ZipArchiveOutputStream(tmpFile)) {
+                source.copyRawEntries(zipOutput, entry -> !removedEntries.contains(entry.getName()) && removedDirectories.stream().noneMatch(dir -> entry.getName().startsWith(dir)));
+                for (Map.Entry<String, File> entry : toAdd.entrySet())
+                    internalZip(entry.getValue(), entry.getKey(), zipOutput);
+            }
+
+            try {
+                Files.move(tmpFile.toPath(), zipFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile.toPath(), zipFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(tmpFile.toPath());
+        }
+    }
+
+    private static void internalZip(File file, String name, ZipArchiveOutputStream zipOutput) throws IOException {
+        if (file.isDirectory() && !name.endsWith("/"))
+            name += "/";
+        zipOutput.putArchiveEntry(new ZipArchiveEntry(file, name));
+        if (file.isFile())
+            copyInputStreamToOutputStream(Files.newInputStream(file.toPath()), zipOutput, false);
+        zipOutput.closeArchiveEntry();
+        if (file.isDirectory()) {
+            File[] files = file.listFiles();
+            if (files != null)
+                for (File f : files)
+                    internalZip(f, name + f.getName(), zipOutput);
         }
     }
 
@@ -717,36 +2568,169 @@ public final class SeerUtils {
      * @param to target folder where to unzip the file
      */
     public static void unzipFile(File from, File to) throws IOException {
+        unzipFile(from, to, null, 1);
+    }
+
+    /**
+     * Unzips the entries of the provided zip file that are accepted by the filter in the requested directory.
+     * <p/>
+     * When more than one thread is requested, the entries are read concurrently from the zip file and written to their target files in parallel;
+     * the zip-bomb checks are applied to every entry regardless of the number of threads.
+     * @param from zip file to unzip, must exist and be a valid zip file
+     * @param to target folder where to unzip the file
+     * @param filter optional filter for the entries to extract (if null, all the entries are extracted)
+     * @param numThreads number of threads to use; if 1, the entries are extracted on the calling thread
+     */
+    public static void unzipFile(File from, File to, Predicate<ZipArchiveEntry> filter, int numThreads) throws IOException {
+        unzipFile(from, to, filter, numThreads, null);
+    }
+
+    /**
+     * Unzips the entries of the provided zip file that are accepted by the filter in the requested directory, limiting the rate at which the
+     * uncompressed data is written.
+     * <p/>
+     * The limiter is shared by all the threads, so it bounds the combined throughput of the extraction; it can also be shared with other operations.
+     * @param from zip file to unzip, must exist and be a valid zip file
+     * @param to target folder where to unzip the file
+     * @param filter optional filter for the entries to extract (if null, all the entries are extracted)
+     * @param numThreads number of threads to use; if 1, the entries are extracted on the calling thread
+     * @param limiter optional rate limiter applied to the uncompressed data (if null, the operation is not throttled)
+     */
+    public static void unzipFile(File from, File to, Predicate<ZipArchiveEntry> filter, int numThreads, RateLimiter limiter) throws IOException {
+        unzipFile(from, to, filter, numThreads, limiter, null);
+    }
+
+    /**
+     * Unzips the entries of the provided zip file that are accepted by the filter in the requested directory, limiting the rate at which the
+     * uncompressed data is written and stopping if the provided token is cancelled.
+     * <p/>
+     * The token is checked before each entry and between chunks of data; if the operation is cancelled (or interrupted), an
+     * <code>InterruptedIOException</code> is thrown once all the threads are stopped, and the files extracted so far are deleted (the target
+     * directory itself is deleted if it was created by the operation).
+     * @param from zip file to unzip, must exist and be a valid zip file
+     * @param to target folder where to unzip the file
+     * @param filter optional filter for the entries to extract (if null, all the entries are extracted)
+     * @param numThreads number of threads to use; if 1, the entries are extracted on the calling thread
+     * @param limiter optional rate limiter applied to the uncompressed data (if null, the operation is not throttled)
+     * @param token optional cancellation token (if null, the operation can't be cancelled)
+     */
+    public static void unzipFile(File from, File to, Predicate<ZipArchiveEntry> filter, int numThreads, RateLimiter limiter, CancellationToken token)
+            throws IOException {
         if (!from.exists())
             throw new IOException("Source file does not exist.");
         if (!from.isFile())
             throw new IOException("Source is not a file.");
-        if (!to.exists())
+        if (numThreads < 1)
+            throw new IllegalArgumentException("Number of threads must be at least 1.");
+        boolean createdTarget = !to.exists();
+        if (createdTarget)
             if (!to.mkdirs())
                 throw new IOException("Unable to create '" + to.getPath() + "'");
         if (!to.isDirectory())
             throw new IOException("Target is not a directory.");
 
+        Map<ZipArchiveEntry, Path> targets = new LinkedHashMap<>();
         try (ZipSecureFile file = new ZipSecureFile(from)) {
+            Path root = to.toPath().toAbsolutePath().normalize();
+
+            // gather the directories first so each one is created only once (the set is sorted so parents are created before their children)
+            Set<Path> directories = new TreeSet<>();
             Enumeration<? extends ZipArchiveEntry> entries = file.getEntries();
             while (entries.hasMoreElements()) {
                 ZipArchiveEntry entry = entries.nextElement();
+                if (filter != null && !filter.test(entry))
+                    continue;
 
-                File target = new File(to, entry.getName());
-                if (!target.getParentFile().exists())
-                    if (!target.getParentFile().mkdirs())
-                        throw new IOException("Unable to create '" + target.getParentFile().getPath() + "'");
+                Path target = root.resolve(entry.getName()).normalize();
+                if (!target.startsWith(root))
+                    throw new IOException("Entry '" + entry.getName() + "' is outside of the target directory.");
 
-                if (entry.isDirectory()) {
-                    if (!target.mkdirs())
-                        throw new IOException("Unable to create '" + target.getPath() + "'");
-                }
+                if (entry.isDirectory())
+                    directories.add(target);
                 else {
-                    try (FileOutputStream fos = new FileOutputStream(target)) {
-                        copyInputStreamToOutputStream(file.getInputStream(entry), fos);
+                    directories.add(target.getParent());
+                    targets.put(entry, target);
+                }
+            }
+            for (Path directory : directories)
+                Files.createDirectories(directory);
+
+            if (numThreads == 1 || targets.size() < 2) {
+                for (Map.Entry<ZipArchiveEntry, Path> entry : targets.entrySet())
+                    unzipEntry(file, entry.getKey(), entry.getValue(), limiter, token);
+            }
+            else {
+                // closing the executor waits for the running entries, so the zip file isn't closed under them
+                List<Future<Void>> futures = new ArrayList<>();
+                try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(numThreads, targets.size()))) {
+                    try {
+                        for (Map.Entry<ZipArchiveEntry, Path> entry : targets.entrySet())
+                            futures.add(executor.submit(() -> {
+                                unzipEntry(file, entry.getKey(), entry.getValue(), limiter, token);
+                                return null;
+                            }));
+                        for (Future<Void> future : futures)
+                            future.get();
                     }
+                    finally {
+                        // after a failure, the remaining entries are not started and the running ones are interrupted
+                        for (Future<Void> future : futures)
+                            future.cancel(true);
+                    }
+                }
+                catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException ioe)
+                        throw ioe;
+                    throw new IOException("Unable to unzip '" + from.getPath() + "'", e.getCause());
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Unzipping of '" + from.getPath() + "' was interrupted");
                 }
             }
         }
+        catch (InterruptedIOException e) {
+            try {
+                if (createdTarget)
+                    deleteDirectory(to, true, 1);
+                else
+                    for (Path target : targets.values())
+                        Files.deleteIfExists(target);
+            }
+            catch (IOException e2) {
+                e.addSuppressed(e2);
+            }
+            throw e;
+        }
+    }
+
+    private static void unzipEntry(ZipSecureFile file, ZipArchiveEntry entry, Path target, RateLimiter limiter, CancellationToken token) throws IOException {
+        if (token != null)
+            token.throwIfCancelled();
+
+        // the declared size can't be trusted (the zip-bomb checks happen while reading), it is only used to size the transfer buffer
+        long declaredSize = entry.getSize();
+        int bufferSize = (int)Math.clamp(declaredSize, 8 * 1024L, 1024 * 1024L);
+
+        BufferPool pool = BufferPool.getShared(bufferSize);
+        ByteBuffer buffer = pool.acquire();
+        try (InputStream is = file.getInputStream(entry);
+             FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int chunkSize = limiter == null ? buffer.capacity() : (int)Math.min(buffer.capacity(), limiter.getMaxBurst());
+            int n;
+            while ((n = is.read(buffer.array(), 0, chunkSize)) != -1) {
+                if (token != null)
+                    token.throwIfCancelled();
+                if (limiter != null)
+                    limiter.acquire(n);
+                buffer.limit(n);
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+                buffer.clear();
+            }
+        }
+        finally {
+            pool.release(buffer);
+        }
     }
 }
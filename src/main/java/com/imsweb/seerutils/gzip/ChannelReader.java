@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A buffered stream reading a file channel from a given position using positional reads, so several readers can share the same channel.
+ * <p>
+ * The buffer is exposed so it can be fed directly to an inflater; the bytes the inflater doesn't use can be given back with {@link #unread(int)}.
+ */
+class ChannelReader extends InputStream {
+
+    private final FileChannel _channel;
+
+    private final byte[] _buffer;
+
+    // the file position of the first byte of the buffer
+    private long _bufferPosition;
+
+    private int _offset;
+
+    private int _limit;
+
+    ChannelReader(FileChannel channel, long position, int bufferSize) {
+        _channel = channel;
+        _buffer = new byte[bufferSize];
+        _bufferPosition = position;
+    }
+
+    /**
+     * Returns the file position of the next byte to read.
+     */
+    long position() {
+        return _bufferPosition + _offset;
+    }
+
+    byte[] buffer() {
+        return _buffer;
+    }
+
+    int offset() {
+        return _offset;
+    }
+
+    int remaining() {
+        return _limit - _offset;
+    }
+
+    /**
+     * Makes sure some bytes are available in the buffer.
+     * @return false if the end of the file was reached
+     */
+    boolean fill() throws IOException {
+        if (_offset < _limit)
+            return true;
+
+        _bufferPosition += _limit;
+        _offset = 0;
+        _limit = 0;
+        int n = _channel.read(ByteBuffer.wrap(_buffer), _bufferPosition);
+        if (n <= 0)
+            return false;
+        _limit = n;
+        return true;
+    }
+
+    /**
+     * Marks the requested number of available bytes as read.
+     */
+    void consume(int n) {
+        _offset += n;
+    }
+
+    /**
+     * Gives back the requested number of bytes that were marked as read.
+     */
+    void unread(int n) {
+        _offset -= n;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill())
+            return -1;
+        return _buffer[_offset++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0)
+            return 0;
+        if (!fill())
+            return -1;
+        int n = Math.min(len, _limit - _offset);
+        System.arraycopy(_buffer, _offset, b, off, n);
+        _offset += n;
+        return n;
+    }
+}
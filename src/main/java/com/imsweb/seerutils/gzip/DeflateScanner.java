@@ -0,0 +1,374 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipException;
+
+/**
+ * A pure-Java deflate decoder used to build a {@link GzipIndex}.
+ * <p>
+ * The JDK inflater can't report the position of the deflate blocks, so this class decodes the whole file (discarding the data) and records a
+ * checkpoint at the first block boundary after every span of uncompressed data, along with the last 32 KB of data needed to resume decoding there.
+ * <p>
+ * The reader resumes at a checkpoint by shifting the compressed bits so the block starts on a byte boundary; that doesn't work for stored blocks
+ * (which are aligned on the absolute byte boundaries), so when such a block is found in a span that doesn't start on a byte boundary, a checkpoint
+ * is recorded for the stored block itself, and another one right after it.
+ */
+class DeflateScanner {
+
+    private static final int _WINDOW_SIZE = 32 * 1024;
+
+    // the output buffer keeps twice the window so the CRC can be computed in bulk
+    private static final int _BUFFER_SIZE = 64 * 1024;
+    private static final int _BUFFER_MASK = _BUFFER_SIZE - 1;
+
+    private static final int[] _LENGTH_BASE = {3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51, 59, 67, 83, 99, 115, 131, 163, 195, 227, 258};
+    private static final int[] _LENGTH_EXTRA = {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5, 0};
+    private static final int[] _DIST_BASE = {1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385, 513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289,
+            16385, 24577};
+    private static final int[] _DIST_EXTRA = {0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10, 10, 11, 11, 12, 12, 13, 13};
+    private static final int[] _CODE_LENGTH_ORDER = {16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15};
+
+    private static final HuffmanTable _FIXED_LITERALS;
+    private static final HuffmanTable _FIXED_DISTANCES;
+
+    static {
+        try {
+            _FIXED_LITERALS = createFixedTable(288);
+            _FIXED_DISTANCES = createFixedTable(30);
+        }
+        catch (ZipException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HuffmanTable createFixedTable(int count) throws ZipException {
+        int[] lengths = new int[count];
+        if (count == 30)
+            Arrays.fill(lengths, 5);
+        else
+            for (int i = 0; i < count; i++)
+                lengths[i] = i < 144 ? 8 : i < 256 ? 9 : i < 280 ? 7 : 8;
+        return new HuffmanTable(lengths, count);
+    }
+
+
+    private final BitReader _in;
+
+    private final long _span;
+
+    private final byte[] _buffer = new byte[_BUFFER_SIZE];
+
+    private final CRC32 _crc = new CRC32();
+
+    private final List<GzipIndex.Checkpoint> _checkpoints = new ArrayList<>();
+
+    // the total output, the output of the current member, and the output included in the CRC so far
+    private long _out;
+    private long _memberOut;
+    private long _crcOut;
+
+    // the output of the last checkpoint, and whether the span started by that checkpoint starts on a byte boundary
+    private long _lastCheckpointOut;
+    private boolean _spanAligned;
+
+    DeflateScanner(ChannelReader reader, long span) {
+        _in = new BitReader(reader);
+        _span = span;
+    }
+
+    /**
+     * Decodes the entire file and returns the checkpoints.
+     */
+    List<GzipIndex.Checkpoint> scan() throws IOException {
+        boolean first = true;
+        while (true) {
+            try {
+                GzipUtils.readHeader(_in);
+            }
+            catch (ZipException | EOFException e) {
+                // like GZIPInputStream, anything after the first member that doesn't look like a GZIP member is ignored
+                if (first)
+                    throw e instanceof EOFException ? new ZipException("Not in GZIP format") : e;
+                break;
+            }
+            first = false;
+
+            _memberOut = 0;
+            _crcOut = _out;
+            _crc.reset();
+            addCheckpoint(GzipIndex.Checkpoint.deflate(_out, _in.bitPosition(), new byte[0]));
+
+            boolean last = false;
+            while (!last) {
+                long blockStart = _in.bitPosition();
+                last = _in.bits(1) == 1;
+                int type = _in.bits(2);
+                if (type == 0)
+                    storedBlock(blockStart, last);
+                else {
+                    if (_out - _lastCheckpointOut >= _span)
+                        addCheckpoint(GzipIndex.Checkpoint.deflate(_out, blockStart, window()));
+                    if (type == 1)
+                        huffmanBlock(_FIXED_LITERALS, _FIXED_DISTANCES);
+                    else if (type == 2)
+                        dynamicBlock();
+                    else
+                        throw new ZipException("invalid block type");
+                }
+            }
+
+            updateCrc();
+            _in.alignToByte();
+            if (GzipUtils.readUnsignedInt(_in) != _crc.getValue() || GzipUtils.readUnsignedInt(_in) != (_memberOut & 0xFFFFFFFFL))
+                throw new ZipException("Corrupt GZIP trailer");
+        }
+
+        return _checkpoints;
+    }
+
+    long getUncompressedSize() {
+        return _out;
+    }
+
+    private void addCheckpoint(GzipIndex.Checkpoint checkpoint) {
+        _checkpoints.add(checkpoint);
+        _lastCheckpointOut = checkpoint.getOut();
+        _spanAligned = checkpoint.isStored() || checkpoint.getBit() % 8 == 0;
+    }
+
+    private void storedBlock(long blockStart, boolean last) throws IOException {
+        _in.alignToByte();
+        int length = _in.bits(16);
+        if (length != (~_in.bits(16) & 0xFFFF))
+            throw new ZipException("invalid stored block lengths");
+
+        boolean checkpoint = !_spanAligned || _out - _lastCheckpointOut >= _span;
+        if (checkpoint)
+            addCheckpoint(GzipIndex.Checkpoint.stored(_out, blockStart, _in.bitPosition() / 8, length));
+
+        for (int i = 0; i < length; i++)
+            output((byte)_in.bits(8));
+
+        // the next block starts on a byte boundary, so the following span is aligned
+        if (checkpoint && !last)
+            addCheckpoint(GzipIndex.Checkpoint.deflate(_out, _in.bitPosition(), window()));
+    }
+
+    private void dynamicBlock() throws IOException {
+        int numLiterals = _in.bits(5) + 257;
+        int numDistances = _in.bits(5) + 1;
+        int numCodeLengths = _in.bits(4) + 4;
+        if (numLiterals > 286 || numDistances > 30)
+            throw new ZipException("too many length or distance symbols");
+
+        int[] codeLengthLengths = new int[19];
+        for (int i = 0; i < numCodeLengths; i++)
+            codeLengthLengths[_CODE_LENGTH_ORDER[i]] = _in.bits(3);
+        HuffmanTable codeLengths = new HuffmanTable(codeLengthLengths, 19);
+
+        int[] lengths = new int[numLiterals + numDistances];
+        int i = 0;
+        while (i < lengths.length) {
+            int symbol = codeLengths.decode(_in);
+            if (symbol < 16)
+                lengths[i++] = symbol;
+            else {
+                int value = 0;
+                int repeat;
+                if (symbol == 16) {
+                    if (i == 0)
+                        throw new ZipException("invalid bit length repeat");
+                    value = lengths[i - 1];
+                    repeat = 3 + _in.bits(2);
+                }
+                else if (symbol == 17)
+                    repeat = 3 + _in.bits(3);
+                else
+                    repeat = 11 + _in.bits(7);
+                if (i + repeat > lengths.length)
+                    throw new ZipException("invalid bit length repeat");
+                while (repeat-- > 0)
+                    lengths[i++] = value;
+            }
+        }
+        if (lengths[256] == 0)
+            throw new ZipException("invalid code -- missing end-of-block");
+
+        int[] distLengths = new int[numDistances];
+        System.arraycopy(lengths, numLiterals, distLengths, 0, numDistances);
+        huffmanBlock(new HuffmanTable(lengths, numLiterals), new HuffmanTable(distLengths, numDistances));
+    }
+
+    private void huffmanBlock(HuffmanTable literals, HuffmanTable distances) throws IOException {
+        while (true) {
+            int symbol = literals.decode(_in);
+            if (symbol < 256)
+                output((byte)symbol);
+            else if (symbol == 256)
+                return;
+            else {
+                symbol -= 257;
+                if (symbol >= 29)
+                    throw new ZipException("invalid literal/length code");
+                int length = _LENGTH_BASE[symbol] + _in.bits(_LENGTH_EXTRA[symbol]);
+                int distSymbol = distances.decode(_in);
+                if (distSymbol >= 30)
+                    throw new ZipException("invalid distance code");
+                int distance = _DIST_BASE[distSymbol] + _in.bits(_DIST_EXTRA[distSymbol]);
+                if (distance > _memberOut)
+                    throw new ZipException("invalid distance too far back");
+                for (int j = 0; j < length; j++)
+                    output(_buffer[(int)((_out - distance) & _BUFFER_MASK)]);
+            }
+        }
+    }
+
+    private void output(byte b) {
+        _buffer[(int)(_out & _BUFFER_MASK)] = b;
+        _out++;
+        _memberOut++;
+        if (_out - _crcOut >= _WINDOW_SIZE)
+            updateCrc();
+    }
+
+    private void updateCrc() {
+        while (_crcOut < _out) {
+            int start = (int)(_crcOut & _BUFFER_MASK);
+            int length = (int)Math.min(_out - _crcOut, _BUFFER_SIZE - start);
+            _crc.update(_buffer, start, length);
+            _crcOut += length;
+        }
+    }
+
+    // returns the data preceding the current position that a back-reference can use
+    private byte[] window() {
+        int length = (int)Math.min(_WINDOW_SIZE, _memberOut);
+        byte[] window = new byte[length];
+        for (int i = 0; i < length; i++)
+            window[i] = _buffer[(int)((_out - length + i) & _BUFFER_MASK)];
+        return window;
+    }
+
+    /**
+     * A canonical Huffman code, decoded with a single lookup table indexed by the next (bit-reversed) bits of the input.
+     */
+    private static final class HuffmanTable {
+
+        // each entry is the symbol shifted left by 4, plus the length of the code
+        private final int[] _table;
+
+        private final int _maxLength;
+
+        private HuffmanTable(int[] lengths, int count) throws ZipException {
+            int maxLength = 1;
+            int[] counts = new int[16];
+            for (int i = 0; i < count; i++) {
+                counts[lengths[i]]++;
+                maxLength = Math.max(maxLength, lengths[i]);
+            }
+            counts[0] = 0;
+
+            int[] nextCode = new int[16];
+            int code = 0;
+            for (int len = 1; len < 16; len++) {
+                code = (code + counts[len - 1]) << 1;
+                nextCode[len] = code;
+            }
+
+            _maxLength = maxLength;
+            _table = new int[1 << maxLength];
+            for (int symbol = 0; symbol < count; symbol++) {
+                int len = lengths[symbol];
+                if (len == 0)
+                    continue;
+                if (nextCode[len] >= (1 << len))
+                    throw new ZipException("invalid code lengths set");
+                int reversed = Integer.reverse(nextCode[len]++) >>> (32 - len);
+                for (int k = reversed; k < _table.length; k += 1 << len)
+                    _table[k] = (symbol << 4) | len;
+            }
+        }
+
+        private int decode(BitReader in) throws IOException {
+            int entry = _table[in.peek(_maxLength)];
+            int length = entry & 15;
+            if (length == 0)
+                throw new ZipException("invalid code");
+            in.drop(length);
+            return entry >>> 4;
+        }
+    }
+
+    /**
+     * Reads the compressed data bit by bit (least significant bit first) and keeps track of the position of the next bit in the file.
+     */
+    private static final class BitReader extends InputStream {
+
+        private final ChannelReader _reader;
+
+        private long _bits;
+
+        private int _count;
+
+        private BitReader(ChannelReader reader) {
+            _reader = reader;
+        }
+
+        long bitPosition() {
+            return _reader.position() * 8 - _count;
+        }
+
+        private void fill() throws IOException {
+            while (_count <= 56) {
+                int b = _reader.read();
+                if (b == -1)
+                    return;
+                _bits |= (long)b << _count;
+                _count += 8;
+            }
+        }
+
+        int peek(int n) throws IOException {
+            if (_count < n)
+                fill();
+            return (int)(_bits & ((1L << n) - 1));
+        }
+
+        void drop(int n) throws IOException {
+            if (n > _count)
+                throw new EOFException("Unexpected end of ZLIB input stream");
+            _bits >>>= n;
+            _count -= n;
+        }
+
+        int bits(int n) throws IOException {
+            if (n == 0)
+                return 0;
+            int value = peek(n);
+            drop(n);
+            return value;
+        }
+
+        void alignToByte() throws IOException {
+            drop(_count % 8);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (_count < 8)
+                fill();
+            if (_count < 8)
+                return -1;
+            return bits(8);
+        }
+    }
+}
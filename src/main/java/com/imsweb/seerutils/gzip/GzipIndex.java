@@ -0,0 +1,397 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * A random-access index for a GZIP file, in the style of zlib's <code>zran</code> example.
+ * <p>
+ * The index records a checkpoint roughly every "span" of uncompressed data: the position of a deflate block in the compressed file, along with the
+ * 32 KB of data preceding it. A {@link SeekableGzipInputStream} uses it to start decompressing at the closest checkpoint before the requested position
+ * instead of at the beginning of the file.
+ * <p>
+ * Building the index requires decompressing the entire file once; the index can be saved next to the GZIP file (see {@link #loadOrBuild(File)}) so
+ * that cost is only paid once. The size and last-modified date of the GZIP file are recorded in the index so an out-of-date index is not used.
+ */
+@SuppressWarnings("unused")
+public class GzipIndex {
+
+    /**
+     * Default span between two checkpoints (4 MB of uncompressed data).
+     */
+    public static final long DEFAULT_SPAN = 4L * 1024 * 1024;
+
+    /**
+     * Extension added to the name of the GZIP file to get the name of its index file.
+     */
+    public static final String INDEX_FILE_EXTENSION = ".gzidx";
+
+    private static final int _MAGIC = 0x475A4958;
+
+    private static final int _VERSION = 1;
+
+    private static final int _READ_BUFFER_SIZE = 1024 * 1024;
+
+    private final long _sourceLength;
+
+    private final long _sourceLastModified;
+
+    private final long _span;
+
+    private final long _uncompressedSize;
+
+    private final List<Checkpoint> _checkpoints;
+
+    private GzipIndex(long sourceLength, long sourceLastModified, long span, long uncompressedSize, List<Checkpoint> checkpoints) {
+        _sourceLength = sourceLength;
+        _sourceLastModified = sourceLastModified;
+        _span = span;
+        _uncompressedSize = uncompressedSize;
+        _checkpoints = Collections.unmodifiableList(checkpoints);
+    }
+
+    /**
+     * Builds the index of the provided GZIP file using the default span; this decompresses the entire file.
+     * @param file GZIP file
+     * @return the index
+     * @throws IOException if the file can't be read or is not a valid GZIP file
+     */
+    public static GzipIndex build(File file) throws IOException {
+        return build(file, DEFAULT_SPAN);
+    }
+
+    /**
+     * Builds the index of the provided GZIP file; this decompresses the entire file.
+     * @param file GZIP file
+     * @param span the (minimum) amount of uncompressed data between two checkpoints; a smaller span makes the seeks faster but the index bigger
+     * @return the index
+     * @throws IOException if the file can't be read or is not a valid GZIP file
+     */
+    public static GzipIndex build(File file, long span) throws IOException {
+        if (file == null)
+            throw new IOException("File is null");
+        if (!file.exists())
+            throw new FileNotFoundException("File does not exist: " + file.getPath());
+        if (span < 1)
+            throw new IllegalArgumentException("Span must be at least 1.");
+
+        long length = file.length();
+        long lastModified = file.lastModified();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            DeflateScanner scanner = new DeflateScanner(new ChannelReader(channel, 0, _READ_BUFFER_SIZE), span);
+            List<Checkpoint> checkpoints = scanner.scan();
+            return new GzipIndex(length, lastModified, span, scanner.getUncompressedSize(), checkpoints);
+        }
+    }
+
+    /**
+     * Loads the index of the provided GZIP file from its index file (see {@link #getIndexFile(File)}), or builds it (and saves it) if the index file
+     * doesn't exist or is out of date. The default span is used when the index is built.
+     * <p/>
+     * If the index file can't be written (for example because the directory is read-only), the index is still returned.
+     * @param file GZIP file
+     * @return the index
+     * @throws IOException if the file can't be read or is not a valid GZIP file
+     */
+    public static GzipIndex loadOrBuild(File file) throws IOException {
+        return loadOrBuild(file, DEFAULT_SPAN);
+    }
+
+    /**
+     * Loads the index of the provided GZIP file from its index file (see {@link #getIndexFile(File)}), or builds it (and saves it) if the index file
+     * doesn't exist or is out of date.
+     * <p/>
+     * If the index file can't be written (for example because the directory is read-only), the index is still returned.
+     * @param file GZIP file
+     * @param span the span to use if the index needs to be built
+     * @return the index
+     * @throws IOException if the file can't be read or is not a valid GZIP file
+     */
+    public static GzipIndex loadOrBuild(File file, long span) throws IOException {
+        File indexFile = getIndexFile(file);
+        if (indexFile.exists()) {
+            try {
+                GzipIndex index = load(indexFile);
+                if (index.isUpToDate(file))
+                    return index;
+            }
+            catch (IOException e) {
+                // the index file is corrupted, it will be re-built
+            }
+        }
+
+        GzipIndex index = build(file, span);
+        try {
+            index.save(indexFile);
+        }
+        catch (IOException e) {
+            // the index can still be used, it will just have to be built again next time
+        }
+        return index;
+    }
+
+    /**
+     * Returns the file used by {@link #loadOrBuild(File)} to save the index of the provided GZIP file.
+     * @param file GZIP file
+     * @return the corresponding index file
+     */
+    public static File getIndexFile(File file) {
+        return new File(file.getPath() + INDEX_FILE_EXTENSION);
+    }
+
+    /**
+     * Loads an index from the provided index file.
+     * @param indexFile index file
+     * @return the index
+     * @throws IOException if the file can't be read or is not a valid index file
+     */
+    public static GzipIndex load(File indexFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile.toPath())))) {
+            if (in.readInt() != _MAGIC)
+                throw new IOException("Not a GZIP index file: " + indexFile.getPath());
+            int version = in.readInt();
+            if (version != _VERSION)
+                throw new IOException("Unsupported GZIP index version: " + version);
+
+            long sourceLength = in.readLong();
+            long sourceLastModified = in.readLong();
+            long span = in.readLong();
+            long uncompressedSize = in.readLong();
+            int count = in.readInt();
+            if (count < 1)
+                throw new IOException("Invalid GZIP index file: " + indexFile.getPath());
+
+            List<Checkpoint> checkpoints = new ArrayList<>(Math.min(count, 1024));
+            for (int i = 0; i < count; i++)
+                checkpoints.add(Checkpoint.read(in));
+            return new GzipIndex(sourceLength, sourceLastModified, span, uncompressedSize, checkpoints);
+        }
+    }
+
+    /**
+     * Saves this index to the provided file.
+     * @param indexFile target index file
+     * @throws IOException if the file can't be written
+     */
+    public void save(File indexFile) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile.toPath())))) {
+            out.writeInt(_MAGIC);
+            out.writeInt(_VERSION);
+            out.writeLong(_sourceLength);
+            out.writeLong(_sourceLastModified);
+            out.writeLong(_span);
+            out.writeLong(_uncompressedSize);
+            out.writeInt(_checkpoints.size());
+            for (Checkpoint checkpoint : _checkpoints)
+                checkpoint.write(out);
+        }
+    }
+
+    /**
+     * Returns whether this index was built from the current version of the provided GZIP file (based on its size and last-modified date).
+     * @param file GZIP file
+     * @return true if the index can be used to read the file
+     */
+    public boolean isUpToDate(File file) {
+        return file.length() == _sourceLength && file.lastModified() == _sourceLastModified;
+    }
+
+    /**
+     * Returns the span used to build this index.
+     * @return the span used to build this index
+     */
+    public long getSpan() {
+        return _span;
+    }
+
+    /**
+     * Returns the uncompressed size of the GZIP file (the total of all its members).
+     * @return the uncompressed size of the GZIP file
+     */
+    public long getUncompressedSize() {
+        return _uncompressedSize;
+    }
+
+    /**
+     * Returns the number of checkpoints in this index.
+     * @return the number of checkpoints in this index
+     */
+    public int getNumCheckpoints() {
+        return _checkpoints.size();
+    }
+
+    List<Checkpoint> getCheckpoints() {
+        return _checkpoints;
+    }
+
+    /**
+     * Returns the index of the last checkpoint starting at or before the provided uncompressed position.
+     */
+    int findCheckpoint(long position) {
+        int low = 0;
+        int high = _checkpoints.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (_checkpoints.get(mid).getOut() <= position)
+                low = mid;
+            else
+                high = mid - 1;
+        }
+        return low;
+    }
+
+    /**
+     * A position where the decompression can start: either a deflate block (with the data preceding it), or the data of a stored block.
+     */
+    static final class Checkpoint {
+
+        // the uncompressed position
+        private final long _out;
+
+        // the position of the block in the compressed file, in bits
+        private final long _bit;
+
+        private final boolean _stored;
+
+        // for a stored block, the position (in bytes) and length of its data
+        private final long _dataOffset;
+        private final int _length;
+
+        // for a deflate block, the window (deflated to keep the index small) and its uncompressed length
+        private final byte[] _compressedWindow;
+        private final int _windowLength;
+
+        private Checkpoint(long out, long bit, boolean stored, long dataOffset, int length, byte[] compressedWindow, int windowLength) {
+            _out = out;
+            _bit = bit;
+            _stored = stored;
+            _dataOffset = dataOffset;
+            _length = length;
+            _compressedWindow = compressedWindow;
+            _windowLength = windowLength;
+        }
+
+        static Checkpoint deflate(long out, long bit, byte[] window) {
+            return new Checkpoint(out, bit, false, -1, 0, compress(window), window.length);
+        }
+
+        static Checkpoint stored(long out, long bit, long dataOffset, int length) {
+            return new Checkpoint(out, bit, true, dataOffset, length, null, 0);
+        }
+
+        long getOut() {
+            return _out;
+        }
+
+        long getBit() {
+            return _bit;
+        }
+
+        boolean isStored() {
+            return _stored;
+        }
+
+        long getDataOffset() {
+            return _dataOffset;
+        }
+
+        int getLength() {
+            return _length;
+        }
+
+        byte[] getWindow() throws ZipException {
+            byte[] window = new byte[_windowLength];
+            if (_windowLength == 0)
+                return window;
+
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(_compressedWindow);
+                int n = 0;
+                while (n < _windowLength && !inflater.finished()) {
+                    int count = inflater.inflate(window, n, _windowLength - n);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                        break;
+                    n += count;
+                }
+                if (n != _windowLength)
+                    throw new ZipException("Corrupt GZIP index");
+                return window;
+            }
+            catch (DataFormatException e) {
+                throw new ZipException("Corrupt GZIP index");
+            }
+            finally {
+                inflater.end();
+            }
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeLong(_out);
+            out.writeLong(_bit);
+            out.writeBoolean(_stored);
+            if (_stored) {
+                out.writeLong(_dataOffset);
+                out.writeInt(_length);
+            }
+            else {
+                out.writeInt(_windowLength);
+                out.writeInt(_compressedWindow.length);
+                out.write(_compressedWindow);
+            }
+        }
+
+        private static Checkpoint read(DataInputStream in) throws IOException {
+            long out = in.readLong();
+            long bit = in.readLong();
+            if (in.readBoolean())
+                return new Checkpoint(out, bit, true, in.readLong(), in.readInt(), null, 0);
+
+            int windowLength = in.readInt();
+            int compressedLength = in.readInt();
+            if (windowLength < 0 || windowLength > 32 * 1024 || compressedLength < 0 || compressedLength > 64 * 1024)
+                throw new IOException("Corrupt GZIP index");
+            byte[] compressedWindow = new byte[compressedLength];
+            in.readFully(compressedWindow);
+            return new Checkpoint(out, bit, false, -1, 0, compressedWindow, windowLength);
+        }
+
+        private static byte[] compress(byte[] window) {
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try {
+                deflater.setInput(window);
+                deflater.finish();
+                byte[] buf = new byte[window.length + 64];
+                int n = 0;
+                while (!deflater.finished()) {
+                    if (n == buf.length)
+                        buf = Arrays.copyOf(buf, buf.length * 2);
+                    n += deflater.deflate(buf, n, buf.length - n);
+                }
+                return Arrays.copyOf(buf, n);
+            }
+            finally {
+                deflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Helper methods to deal with the framing of GZIP members (see <a href="https://www.rfc-editor.org/rfc/rfc1952">RFC 1952</a>).
+ */
+final class GzipUtils {
+
+    private static final int _FHCRC = 2;
+    private static final int _FEXTRA = 4;
+    private static final int _FNAME = 8;
+    private static final int _FCOMMENT = 16;
+    private static final int _RESERVED = 0xE0;
+
+    private GzipUtils() {
+    }
+
+    /**
+     * Returns true if the provided bytes look like the start of a GZIP member (magic number, deflate method and no reserved flag).
+     */
+    static boolean isMemberStart(byte[] buf, int off) {
+        return buf[off] == 0x1f && buf[off + 1] == (byte)0x8b && buf[off + 2] == 8 && (buf[off + 3] & _RESERVED) == 0;
+    }
+
+    /**
+     * Reads and validates a GZIP member header from the provided stream.
+     * @return the number of bytes that were read
+     * @throws ZipException if the bytes are not a valid GZIP header
+     * @throws EOFException if the stream ends before the end of the header
+     */
+    static int readHeader(InputStream in) throws IOException {
+        if (readUnsignedByte(in) != 0x1f || readUnsignedByte(in) != 0x8b)
+            throw new ZipException("Not in GZIP format");
+        if (readUnsignedByte(in) != 8)
+            throw new ZipException("Unsupported compression method");
+        int flags = readUnsignedByte(in);
+        if ((flags & _RESERVED) != 0)
+            throw new ZipException("Invalid GZIP flags");
+
+        // modification time, extra flags and operating system
+        skipBytes(in, 6);
+        int count = 10;
+
+        if ((flags & _FEXTRA) != 0) {
+            int length = readUnsignedByte(in) | (readUnsignedByte(in) << 8);
+            skipBytes(in, length);
+            count += length + 2;
+        }
+        if ((flags & _FNAME) != 0)
+            count += skipZeroTerminatedString(in);
+        if ((flags & _FCOMMENT) != 0)
+            count += skipZeroTerminatedString(in);
+        if ((flags & _FHCRC) != 0) {
+            skipBytes(in, 2);
+            count += 2;
+        }
+
+        return count;
+    }
+
+    /**
+     * Reads a 4-bytes little-endian value from the provided stream.
+     */
+    static long readUnsignedInt(InputStream in) throws IOException {
+        return (readUnsignedByte(in) | (readUnsignedByte(in) << 8) | (readUnsignedByte(in) << 16) | ((long)readUnsignedByte(in) << 24));
+    }
+
+    private static int readUnsignedByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b == -1)
+            throw new EOFException("Unexpected end of GZIP data");
+        return b;
+    }
+
+    private static void skipBytes(InputStream in, int n) throws IOException {
+        for (int i = 0; i < n; i++)
+            readUnsignedByte(in);
+    }
+
+    private static int skipZeroTerminatedString(InputStream in) throws IOException {
+        int count = 1;
+        while (readUnsignedByte(in) != 0)
+            count++;
+        return count;
+    }
+}
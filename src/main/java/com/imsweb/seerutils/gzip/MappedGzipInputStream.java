@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * An input stream that decompresses a local GZIP file by mapping it in memory and giving the mapped buffer directly to the inflater.
+ * <p>
+ * Contrary to a <code>GZIPInputStream</code> wrapping a file stream, the compressed data is not copied into intermediate heap buffers, and the data
+ * is decompressed straight into the buffer provided by the caller: either an array (through the <code>InputStream</code> methods) or any (heap or
+ * direct) buffer (through the {@link ReadableByteChannel} methods).
+ * <p>
+ * Like <code>GZIPInputStream</code>, files made of several members are supported, and the checksum of each member is verified.
+ * <p>
+ * The mapped memory is only released when the buffers are garbage collected; on some platforms (like Windows), the file can't be deleted until then.
+ */
+@SuppressWarnings("unused")
+public class MappedGzipInputStream extends InputStream implements ReadableByteChannel {
+
+    // the maximum size of a single mapping; larger files are mapped one region at a time
+    private static final long _MAX_MAPPING_SIZE = 1024L * 1024 * 1024;
+
+    private final FileChannel _channel;
+
+    private final long _size;
+
+    private final Inflater _inflater = new Inflater(true);
+
+    private final CRC32 _crc = new CRC32();
+
+    // gives access to the bytes of the mapped region (for the headers and trailers of the members)
+    private final InputStream _mappedInput = new InputStream() {
+        @Override
+        public int read() throws IOException {
+            return nextRegion() ? (_region.get() & 0xFF) : -1;
+        }
+    };
+
+    // the currently mapped region, and its position in the file
+    private MappedByteBuffer _region;
+    private long _regionStart;
+
+    private long _memberSize;
+
+    private boolean _eof;
+
+    private boolean _closed;
+
+    /**
+     * Constructor.
+     * @param file GZIP file to read
+     */
+    public MappedGzipInputStream(Path file) throws IOException {
+        _channel = FileChannel.open(file, StandardOpenOption.READ);
+        _size = _channel.size();
+        try {
+            GzipUtils.readHeader(_mappedInput);
+        }
+        catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0)
+            return 0;
+
+        return inflate(ByteBuffer.wrap(b, off, len));
+    }
+
+    /**
+     * Decompresses data into the provided buffer, which can be a direct buffer.
+     * @param dst the buffer into which the data is decompressed
+     * @return the number of bytes decompressed, possibly zero, or -1 if the end of the data was reached
+     */
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (_closed)
+            throw new ClosedChannelException();
+        if (!dst.hasRemaining())
+            return 0;
+
+        return inflate(dst);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !_closed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_closed)
+            return;
+
+        _closed = true;
+        _region = null;
+        _inflater.end();
+        _channel.close();
+    }
+
+    private int inflate(ByteBuffer dst) throws IOException {
+        if (_eof)
+            return -1;
+
+        try {
+            while (true) {
+                int start = dst.position();
+                int n = _inflater.inflate(dst);
+                if (n > 0) {
+                    _crc.update(dst.duplicate().position(start).limit(start + n));
+                    _memberSize += n;
+                    return n;
+                }
+                if (_inflater.finished()) {
+                    if (!nextMember()) {
+                        _eof = true;
+                        return -1;
+                    }
+                }
+                else if (_inflater.needsDictionary())
+                    throw new ZipException("Invalid GZIP data");
+                else if (_inflater.needsInput()) {
+                    if (!nextRegion())
+                        throw new EOFException("Unexpected end of ZLIB input stream");
+                    // the inflater moves the position of the region as it consumes it
+                    _inflater.setInput(_region);
+                }
+            }
+        }
+        catch (DataFormatException e) {
+            throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid ZLIB data format");
+        }
+    }
+
+    // verifies the trailer of the member that was just decompressed and moves to the next one, if any
+    private boolean nextMember() throws IOException {
+        if (GzipUtils.readUnsignedInt(_mappedInput) != _crc.getValue() || GzipUtils.readUnsignedInt(_mappedInput) != (_memberSize & 0xFFFFFFFFL))
+            throw new ZipException("Corrupt GZIP trailer");
+
+        // like GZIPInputStream, anything after a member that doesn't look like a GZIP member is ignored
+        try {
+            GzipUtils.readHeader(_mappedInput);
+        }
+        catch (ZipException | EOFException e) {
+            return false;
+        }
+
+        _inflater.reset();
+        _crc.reset();
+        _memberSize = 0;
+        return true;
+    }
+
+    // makes sure the current region has some bytes left, mapping the next one if needed
+    private boolean nextRegion() throws IOException {
+        if (_region != null && _region.hasRemaining())
+            return true;
+
+        long position = _region == null ? 0 : _regionStart + _region.limit();
+        if (position >= _size)
+            return false;
+
+        _region = _channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(_MAX_MAPPING_SIZE, _size - position));
+        _regionStart = position;
+        return true;
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * An input stream that decompresses a GZIP file made of several members (typically the result of appending GZIP files, or of block-compressing
+ * writers) using several threads.
+ * <p>
+ * A background thread scans the compressed file for the signature of the GZIP members; each candidate member is decompressed on its own thread,
+ * and the data is returned in order. A candidate is only used if the previous member ends exactly where it starts, so signatures that happen to
+ * appear inside the compressed data don't corrupt the result.
+ * <p>
+ * The read-ahead is bounded: at most one member per thread is decompressed ahead of the reader, and each of them buffers at most 1 MB of data.
+ * A file made of a single member is decompressed on a single background thread.
+ */
+@SuppressWarnings("unused")
+public class ParallelGzipInputStream extends InputStream {
+
+    private static final int _CHUNK_SIZE = 64 * 1024;
+
+    private static final int _MAX_QUEUED_CHUNKS = 16;
+
+    private static final int _READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final int _SCAN_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int _MAX_QUEUED_CANDIDATES = 1024;
+
+    private final FileChannel _channel;
+
+    private final long _size;
+
+    private final int _numThreads;
+
+    private final ExecutorService _executor;
+
+    private final BlockingQueue<Long> _candidates = new ArrayBlockingQueue<>(_MAX_QUEUED_CANDIDATES);
+
+    // the members being decompressed ahead of the current one, keyed by start position
+    private final TreeMap<Long, MemberTask> _tasks = new TreeMap<>();
+
+    private volatile boolean _closed;
+
+    private MemberTask _current;
+
+    private boolean _firstMember = true;
+
+    private boolean _eof;
+
+    private Chunk _chunk;
+
+    private int _chunkOffset;
+
+    private int _numMembersReadAhead;
+
+    /**
+     * Constructor.
+     * @param file GZIP file to read
+     * @param numThreads maximum number of members decompressed concurrently
+     */
+    public ParallelGzipInputStream(Path file, int numThreads) throws IOException {
+        if (numThreads < 1)
+            throw new IllegalArgumentException("Number of threads must be at least 1.");
+
+        _channel = FileChannel.open(file, StandardOpenOption.READ);
+        _size = _channel.size();
+        if (_size == 0) {
+            _channel.close();
+            throw new EOFException("Unexpected end of GZIP data");
+        }
+
+        _numThreads = numThreads;
+        _executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "seerutils-gzip-inflater");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        _current = startTask(0);
+        _executor.execute(this::scanMembers);
+        scheduleTasks();
+    }
+
+    /**
+     * Returns the number of members whose decompression started (on another thread) before the previous member was entirely read.
+     * @return the number of members decompressed ahead of the reader
+     */
+    public int getNumMembersReadAhead() {
+        return _numMembersReadAhead;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0)
+            return 0;
+
+        while (_chunk == null || _chunkOffset == _chunk._length) {
+            if (_eof || !nextChunk())
+                return -1;
+        }
+
+        int n = Math.min(len, _chunk._length - _chunkOffset);
+        System.arraycopy(_chunk._data, _chunkOffset, b, off, n);
+        _chunkOffset += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        return _chunk == null ? 0 : (_chunk._length - _chunkOffset);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_closed)
+            return;
+
+        _closed = true;
+        _current._cancelled = true;
+        for (MemberTask task : _tasks.values())
+            task._cancelled = true;
+        _tasks.clear();
+        _executor.shutdownNow();
+        _channel.close();
+    }
+
+    private boolean nextChunk() throws IOException {
+        while (true) {
+            Object item;
+            try {
+                item = _current._queue.take();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Decompression was interrupted");
+            }
+
+            if (item instanceof Chunk chunk) {
+                _chunk = chunk;
+                _chunkOffset = 0;
+                // the scan finds new candidates while the current member is decompressed, so the idle threads are used as soon as possible
+                scheduleTasks();
+                return true;
+            }
+
+            if (item instanceof MemberError error) {
+                // like GZIPInputStream, anything after the first member that doesn't look like a GZIP member is ignored
+                if (error._invalidHeader && !_firstMember) {
+                    _eof = true;
+                    return false;
+                }
+                throw error._exception;
+            }
+
+            long end = ((MemberEnd)item)._end;
+            _firstMember = false;
+
+            // the candidates that started inside the member that just ended were not real members
+            while (!_tasks.isEmpty() && _tasks.firstKey() < end)
+                _tasks.pollFirstEntry().getValue()._cancelled = true;
+
+            if (end >= _size) {
+                _eof = true;
+                return false;
+            }
+
+            MemberTask next = _tasks.remove(end);
+            if (next != null)
+                _numMembersReadAhead++;
+            _current = next != null ? next : startTask(end);
+            scheduleTasks();
+        }
+    }
+
+    private void scheduleTasks() {
+        Long candidate;
+        while (_tasks.size() + 1 < _numThreads && (candidate = _candidates.poll()) != null)
+            if (candidate > _current._start && !_tasks.containsKey(candidate))
+                _tasks.put(candidate, startTask(candidate));
+    }
+
+    private MemberTask startTask(long start) {
+        MemberTask task = new MemberTask(start);
+        _executor.execute(task);
+        return task;
+    }
+
+    // runs in the background, looking for the signature of the GZIP members
+    private void scanMembers() {
+        byte[] buf = new byte[_SCAN_BUFFER_SIZE];
+        long position = 0;
+        try {
+            while (!_closed && position < _size) {
+                int n = _channel.read(ByteBuffer.wrap(buf), position);
+                if (n < 4)
+                    break;
+                for (int i = 0; i <= n - 4; i++) {
+                    if (buf[i] == 0x1f && GzipUtils.isMemberStart(buf, i) && position + i > 0) {
+                        while (!_candidates.offer(position + i, 100, TimeUnit.MILLISECONDS))
+                            if (_closed)
+                                return;
+                    }
+                }
+                // overlap the last bytes so a signature spanning two buffers is not missed
+                position += n - 3;
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException e) {
+            // the candidates are only used to decompress ahead, the members are still found by reading them in order
+        }
+    }
+
+    private static final class Chunk {
+
+        private final byte[] _data;
+
+        private final int _length;
+
+        private Chunk(byte[] data, int length) {
+            _data = data;
+            _length = length;
+        }
+    }
+
+    private static final class MemberEnd {
+
+        private final long _end;
+
+        private MemberEnd(long end) {
+            _end = end;
+        }
+    }
+
+    private static final class MemberError {
+
+        private final IOException _exception;
+
+        private final boolean _invalidHeader;
+
+        private MemberError(IOException exception, boolean invalidHeader) {
+            _exception = exception;
+            _invalidHeader = invalidHeader;
+        }
+    }
+
+    // decompresses a single member, starting at a given position; the result is published as chunks followed by an end (or error) marker
+    private final class MemberTask implements Runnable {
+
+        private final long _start;
+
+        private final BlockingQueue<Object> _queue = new ArrayBlockingQueue<>(_MAX_QUEUED_CHUNKS + 1);
+
+        private volatile boolean _cancelled;
+
+        private MemberTask(long start) {
+            _start = start;
+        }
+
+        @Override
+        public void run() {
+            ChannelReader reader = new ChannelReader(_channel, _start, _READ_BUFFER_SIZE);
+            try {
+                try {
+                    GzipUtils.readHeader(reader);
+                }
+                catch (ZipException | EOFException e) {
+                    publish(new MemberError(e, true));
+                    return;
+                }
+
+                CRC32 crc = new CRC32();
+                long size = 0;
+                Inflater inflater = new Inflater(true);
+                try {
+                    byte[] out = new byte[_CHUNK_SIZE];
+                    int length = 0;
+                    while (!inflater.finished()) {
+                        if (_cancelled)
+                            return;
+                        if (inflater.needsInput()) {
+                            if (!reader.fill())
+                                throw new EOFException("Unexpected end of ZLIB input stream");
+                            inflater.setInput(reader.buffer(), reader.offset(), reader.remaining());
+                            reader.consume(reader.remaining());
+                        }
+                        int n = inflater.inflate(out, length, out.length - length);
+                        if (n == 0 && inflater.needsDictionary())
+                            throw new ZipException("Invalid GZIP data");
+                        length += n;
+                        if (length == out.length || (inflater.finished() && length > 0)) {
+                            crc.update(out, 0, length);
+                            size += length;
+                            if (!publish(new Chunk(out, length)))
+                                return;
+                            out = new byte[_CHUNK_SIZE];
+                            length = 0;
+                        }
+                    }
+                    reader.unread(inflater.getRemaining());
+                }
+                finally {
+                    inflater.end();
+                }
+
+                if (GzipUtils.readUnsignedInt(reader) != crc.getValue() || GzipUtils.readUnsignedInt(reader) != (size & 0xFFFFFFFFL))
+                    throw new ZipException("Corrupt GZIP trailer");
+
+                publish(new MemberEnd(reader.position()));
+            }
+            catch (DataFormatException e) {
+                publish(new MemberError(new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid ZLIB data format"), false));
+            }
+            catch (IOException e) {
+                publish(new MemberError(e, false));
+            }
+        }
+
+        private boolean publish(Object item) {
+            try {
+                while (!_queue.offer(item, 100, TimeUnit.MILLISECONDS))
+                    if (_cancelled)
+                        return false;
+                return true;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
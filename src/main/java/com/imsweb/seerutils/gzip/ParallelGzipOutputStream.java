@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An output stream that compresses the data in the GZIP format using several threads, in the style of <a href="https://zlib.net/pigz/">pigz</a>.
+ * <p>
+ * The data is split into blocks which are deflated concurrently; each block uses the end of the previous block as a preset dictionary so the
+ * compression ratio stays close to the one of a regular GZIP stream. The result is a single standard GZIP member that any GZIP reader can decode.
+ * <p>
+ * The memory used by the stream is bounded by the number of blocks being compressed, which is twice the number of threads.
+ */
+@SuppressWarnings("unused")
+public class ParallelGzipOutputStream extends OutputStream {
+
+    /**
+     * Default block size (128 KB).
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    // the size of the deflate window, which is the maximum useful size for a dictionary
+    private static final int _DICTIONARY_SIZE = 32 * 1024;
+
+    private static final byte[] _HEADER = {0x1f, (byte)0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte)0xff};
+
+    private final OutputStream _out;
+
+    private final int _blockSize;
+
+    private final int _level;
+
+    private final ExecutorService _executor;
+
+    private final int _maxPendingBlocks;
+
+    private final Deque<Future<byte[]>> _pendingBlocks = new ArrayDeque<>();
+
+    private final CRC32 _crc = new CRC32();
+
+    private byte[] _buffer;
+
+    private int _count;
+
+    private byte[] _dictionary;
+
+    private long _totalSize;
+
+    private boolean _closed;
+
+    /**
+     * Constructor, uses the default block size, the default compression level and one thread per available processor.
+     * @param out underlying output stream
+     */
+    public ParallelGzipOutputStream(OutputStream out) throws IOException {
+        this(out, DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor, uses the default compression level.
+     * @param out underlying output stream
+     * @param blockSize the size of the blocks compressed independently, must be at least 32 KB
+     * @param numThreads the number of threads to use for the compression
+     */
+    public ParallelGzipOutputStream(OutputStream out, int blockSize, int numThreads) throws IOException {
+        this(out, blockSize, numThreads, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructor.
+     * @param out underlying output stream
+     * @param blockSize the size of the blocks compressed independently, must be at least 32 KB
+     * @param numThreads the number of threads to use for the compression
+     * @param level the compression level (0-9 or -1 for the default level)
+     */
+    public ParallelGzipOutputStream(OutputStream out, int blockSize, int numThreads, int level) throws IOException {
+        if (out == null)
+            throw new IOException("Output Stream is null");
+        if (blockSize < _DICTIONARY_SIZE)
+            throw new IllegalArgumentException("Block size must be at least " + _DICTIONARY_SIZE);
+        if (numThreads < 1)
+            throw new IllegalArgumentException("Number of threads must be at least 1.");
+
+        _out = out;
+        _blockSize = blockSize;
+        _level = level;
+        _maxPendingBlocks = numThreads * 2;
+        _executor = Executors.newFixedThreadPool(numThreads, r -> {
+            Thread thread = new Thread(r, "seerutils-gzip-deflater");
+            thread.setDaemon(true);
+            return thread;
+        });
+        _buffer = new byte[blockSize];
+
+        _out.write(_HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte)b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        while (len > 0) {
+            int n = Math.min(len, _blockSize - _count);
+            System.arraycopy(b, off, _buffer, _count, n);
+            _count += n;
+            off += n;
+            len -= n;
+            if (_count == _blockSize)
+                submitBlock(false);
+        }
+    }
+
+    /**
+     * Writes all the blocks that have been fully compressed so far to the underlying stream and flushes it; the data of the block currently being
+     * filled is not compressed until the block is full or the stream is closed.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        while (!_pendingBlocks.isEmpty() && _pendingBlocks.peekFirst().isDone())
+            writeNextBlock();
+        _out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_closed)
+            return;
+
+        try {
+            submitBlock(true);
+            while (!_pendingBlocks.isEmpty())
+                writeNextBlock();
+            writeInt((int)_crc.getValue());
+            writeInt((int)_totalSize);
+            _out.flush();
+        }
+        finally {
+            _closed = true;
+            _executor.shutdownNow();
+            _out.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        byte[] block = _buffer;
+        int count = _count;
+        byte[] dictionary = _dictionary;
+
+        _crc.update(block, 0, count);
+        _totalSize += count;
+        if (!last) {
+            _dictionary = Arrays.copyOfRange(block, count - _DICTIONARY_SIZE, count);
+            _buffer = new byte[_blockSize];
+            _count = 0;
+        }
+
+        // bound the memory by waiting for the oldest block when too many blocks are in flight
+        while (_pendingBlocks.size() >= _maxPendingBlocks)
+            writeNextBlock();
+
+        _pendingBlocks.addLast(_executor.submit(() -> deflate(block, count, dictionary, last, _level)));
+    }
+
+    private void writeNextBlock() throws IOException {
+        try {
+            _out.write(_pendingBlocks.removeFirst().get());
+        }
+        catch (ExecutionException e) {
+            throw new IOException("Unable to compress data", e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Compression was interrupted");
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        _out.write(value & 0xFF);
+        _out.write((value >> 8) & 0xFF);
+        _out.write((value >> 16) & 0xFF);
+        _out.write((value >> 24) & 0xFF);
+    }
+
+    // deflates a single block; all blocks but the last one end with a sync flush so they are byte-aligned and can be concatenated
+    private static byte[] deflate(byte[] data, int length, byte[] dictionary, boolean last, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionary != null)
+                deflater.setDictionary(dictionary);
+            deflater.setInput(data, 0, length);
+            if (last)
+                deflater.finish();
+
+            ByteArrayOutputStream result = new ByteArrayOutputStream(Math.max(length / 2, 64));
+            byte[] buf = new byte[Math.max(length / 4, 8 * 1024)];
+            while (true) {
+                int n = last ? deflater.deflate(buf) : deflater.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH);
+                result.write(buf, 0, n);
+                if (last ? deflater.finished() : n < buf.length)
+                    break;
+            }
+            return result.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+}
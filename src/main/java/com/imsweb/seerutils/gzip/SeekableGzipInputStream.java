@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * An input stream that decompresses a GZIP file and supports moving to any (uncompressed) position using a {@link GzipIndex}.
+ * <p>
+ * Moving to a position only requires decompressing the data between the closest checkpoint of the index and that position, so the cost of a seek is
+ * bounded by the span of the index rather than by the size of the file.
+ * <p>
+ * The checksums of the members are verified when the index is built, they are not verified again when the data is read with this stream.
+ */
+@SuppressWarnings("unused")
+public class SeekableGzipInputStream extends InputStream {
+
+    private static final int _READ_BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel _channel;
+
+    private final long _fileSize;
+
+    private final GzipIndex _index;
+
+    private final List<GzipIndex.Checkpoint> _checkpoints;
+
+    private final Inflater _inflater = new Inflater(true);
+
+    private final byte[] _raw = new byte[_READ_BUFFER_SIZE + 1];
+
+    private final byte[] _input = new byte[_READ_BUFFER_SIZE];
+
+    // the current uncompressed position
+    private long _position;
+
+    // the checkpoint starting the current span, and the amount of data left in that span
+    private int _checkpointIdx;
+    private long _spanRemaining;
+
+    // the next compressed bit to give to the inflater, and the bit where the current span ends
+    private long _inputBit;
+    private long _inputEndBit;
+
+    private boolean _closed;
+
+    /**
+     * Constructor, loads the index of the file (or builds it if needed) using {@link GzipIndex#loadOrBuild(File)}.
+     * @param file GZIP file to read
+     */
+    public SeekableGzipInputStream(File file) throws IOException {
+        this(file, GzipIndex.loadOrBuild(file));
+    }
+
+    /**
+     * Constructor.
+     * @param file GZIP file to read
+     * @param index index of the file
+     */
+    public SeekableGzipInputStream(File file, GzipIndex index) throws IOException {
+        if (index == null)
+            throw new IOException("Index is null");
+        if (!index.isUpToDate(file))
+            throw new IOException("The index is out of date for " + file.getPath());
+
+        _channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        _fileSize = _channel.size();
+        _index = index;
+        _checkpoints = index.getCheckpoints();
+
+        try {
+            startSpan(0);
+        }
+        catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the current (uncompressed) position.
+     * @return the current position
+     */
+    public long position() {
+        return _position;
+    }
+
+    /**
+     * Returns the uncompressed size of the file.
+     * @return the uncompressed size of the file
+     */
+    public long size() {
+        return _index.getUncompressedSize();
+    }
+
+    /**
+     * Moves to the requested (uncompressed) position; the next read returns the data starting at that position.
+     * @param position the new position, between 0 and the uncompressed size of the file
+     */
+    public void seek(long position) throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        if (position < 0 || position > size())
+            throw new IllegalArgumentException("Position must be between 0 and " + size());
+
+        // no need to go back to a checkpoint if the position is ahead in the current span
+        if (position < _position || position - _position > _spanRemaining) {
+            startSpan(_index.findCheckpoint(position));
+            _position = _checkpoints.get(_checkpointIdx).getOut();
+        }
+
+        byte[] buf = new byte[(int)Math.min(_READ_BUFFER_SIZE, Math.max(1, position - _position))];
+        while (_position < position) {
+            int n = read(buf, 0, (int)Math.min(buf.length, position - _position));
+            if (n == -1)
+                throw new EOFException("Unexpected end of ZLIB input stream");
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0)
+            return 0;
+        long target = Math.min(size(), _position + n);
+        long skipped = target - _position;
+        seek(target);
+        return skipped;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0)
+            return 0;
+
+        while (_spanRemaining == 0) {
+            if (_checkpointIdx + 1 >= _checkpoints.size())
+                return -1;
+            startSpan(_checkpointIdx + 1);
+        }
+
+        int max = (int)Math.min(len, _spanRemaining);
+        GzipIndex.Checkpoint checkpoint = _checkpoints.get(_checkpointIdx);
+        int n;
+        if (checkpoint.isStored()) {
+            // the data of a stored block is copied as-is
+            n = _channel.read(ByteBuffer.wrap(b, off, max), checkpoint.getDataOffset() + (checkpoint.getLength() - _spanRemaining));
+            if (n <= 0)
+                throw new EOFException("Unexpected end of ZLIB input stream");
+        }
+        else
+            n = inflate(b, off, max);
+
+        _position += n;
+        _spanRemaining -= n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        return 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_closed)
+            return;
+
+        _closed = true;
+        _inflater.end();
+        _channel.close();
+    }
+
+    private void startSpan(int checkpointIdx) throws IOException {
+        GzipIndex.Checkpoint checkpoint = _checkpoints.get(checkpointIdx);
+        long end = checkpointIdx + 1 < _checkpoints.size() ? _checkpoints.get(checkpointIdx + 1).getOut() : _index.getUncompressedSize();
+
+        _checkpointIdx = checkpointIdx;
+        _spanRemaining = end - checkpoint.getOut();
+        if (!checkpoint.isStored()) {
+            _inflater.reset();
+            byte[] window = checkpoint.getWindow();
+            if (window.length > 0)
+                _inflater.setDictionary(window);
+            _inputBit = checkpoint.getBit();
+            _inputEndBit = checkpointIdx + 1 < _checkpoints.size() ? _checkpoints.get(checkpointIdx + 1).getBit() : _fileSize * 8;
+        }
+    }
+
+    private int inflate(byte[] b, int off, int len) throws IOException {
+        try {
+            while (true) {
+                int n = _inflater.inflate(b, off, len);
+                if (n > 0)
+                    return n;
+                if (_inflater.finished() || _inflater.needsDictionary())
+                    throw new ZipException("Corrupt GZIP data or index");
+                if (_inflater.needsInput())
+                    feedInflater();
+            }
+        }
+        catch (DataFormatException e) {
+            throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid ZLIB data format");
+        }
+    }
+
+    // the checkpoints don't start on a byte boundary, so the compressed data is shifted before it's given to the inflater; the input stops at the
+    // end of the span, otherwise the inflater could try to decode the following (possibly misaligned) block
+    private void feedInflater() throws IOException {
+        long bitsLeft = _inputEndBit - _inputBit;
+        if (bitsLeft <= 0)
+            throw new EOFException("Unexpected end of ZLIB input stream");
+
+        int shift = (int)(_inputBit & 7);
+        long bytePosition = _inputBit >>> 3;
+        int length = (int)Math.min(_input.length, (bitsLeft + 7) >>> 3);
+
+        int count = 0;
+        int toRead = (int)Math.min(length + 1L, _fileSize - bytePosition);
+        while (count < toRead) {
+            int n = _channel.read(ByteBuffer.wrap(_raw, count, toRead - count), bytePosition + count);
+            if (n <= 0)
+                break;
+            count += n;
+        }
+        if (count < length)
+            throw new EOFException("Unexpected end of ZLIB input stream");
+
+        if (shift == 0)
+            System.arraycopy(_raw, 0, _input, 0, length);
+        else
+            for (int i = 0; i < length; i++)
+                _input[i] = (byte)(((_raw[i] & 0xFF) >>> shift) | (i + 1 < count ? (_raw[i + 1] << (8 - shift)) : 0));
+
+        long bits = Math.min(bitsLeft, length * 8L);
+        if (bits % 8 != 0)
+            _input[length - 1] &= (byte)((1 << (bits % 8)) - 1);
+
+        _inputBit += bits;
+        _inflater.setInput(_input, 0, length);
+    }
+}
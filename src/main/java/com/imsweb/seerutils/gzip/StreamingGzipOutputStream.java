@@ -0,0 +1,316 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An output stream that compresses the data in the GZIP format and makes it available to the readers of the file while it's being written.
+ * <p>
+ * A regular <code>GZIPOutputStream</code> keeps the compressed data in its deflater until it is closed, so a process tailing the file doesn't
+ * see anything for a long time. This stream pushes the data to the underlying stream once a given amount of data was written, or once the oldest
+ * pending data has waited for a given delay (whichever comes first), in one of two ways:
+ * <ul>
+ * <li>with a deflate "sync flush": the file is a single GZIP member that a streaming reader can decompress up to the last flush</li>
+ * <li>by ending the current GZIP member and starting a new one: the file is a valid (multi-member) GZIP file after each flush</li>
+ * </ul>
+ * Calling {@link #flush()} also pushes the data. Since each flush costs a few bytes and resets some of the state of the compressor, the thresholds
+ * should not be too small (a few hundred KB, or a few seconds) to keep a compression ratio close to the one of a regular GZIP stream.
+ * <p>
+ * The delay is checked by a shared background thread, so the data is pushed even if nothing else is written. That thread only detects the streams
+ * that need to be pushed; each push runs on its own virtual thread, so an underlying stream that blocks doesn't delay the other streams. The checks
+ * stop once the stream is closed (or garbage collected, since the background thread doesn't keep it reachable).
+ */
+@SuppressWarnings("unused")
+public class StreamingGzipOutputStream extends OutputStream {
+
+    private static final byte[] _HEADER = {0x1f, (byte)0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte)0xff};
+
+    private static final int _BUFFER_SIZE = 64 * 1024;
+
+    // checks the delay of all the streams, the pushes themselves run on virtual threads
+    private static final ScheduledExecutorService _SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "seerutils-gzip-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final OutputStream _out;
+
+    private final long _maxPendingBytes;
+
+    private final long _maxDelayNanos;
+
+    private final boolean _newMembers;
+
+    private final Deflater _deflater;
+
+    private final CRC32 _crc = new CRC32();
+
+    private final byte[] _buffer = new byte[_BUFFER_SIZE];
+
+    private final DelayCheck _delayCheck;
+
+    // guards the state of the stream; it's not a monitor so the virtual threads pushing the data don't pin their carrier while they wait
+    private final ReentrantLock _lock = new ReentrantLock();
+
+    // true while a push requested by the delay check is running
+    private final AtomicBoolean _delayedPush = new AtomicBoolean();
+
+    private boolean _memberStarted;
+
+    private boolean _anyMember;
+
+    private long _memberSize;
+
+    // the amount of data written since the last flush, and the time the oldest of it was written (read without the lock by the delay check)
+    private volatile long _pendingBytes;
+    private volatile long _pendingSince;
+
+    // an error that happened while flushing on the background thread, reported on the next call
+    private IOException _delayedError;
+
+    private boolean _closed;
+
+    /**
+     * Constructor, uses sync flushes and the default compression level.
+     * @param out underlying output stream
+     * @param maxPendingBytes the maximum amount of (uncompressed) data written before the data is pushed, 0 for no limit
+     * @param maxDelay the maximum time the written data waits before it's pushed, null for no limit
+     */
+    public StreamingGzipOutputStream(OutputStream out, long maxPendingBytes, Duration maxDelay) throws IOException {
+        this(out, maxPendingBytes, maxDelay, false, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructor.
+     * @param out underlying output stream
+     * @param maxPendingBytes the maximum amount of (uncompressed) data written before the data is pushed, 0 for no limit
+     * @param maxDelay the maximum time the written data waits before it's pushed, null for no limit
+     * @param newMembers if true, a new GZIP member is started every time the data is pushed, otherwise a sync flush is used
+     * @param level the compression level (0-9 or -1 for the default level)
+     */
+    public StreamingGzipOutputStream(OutputStream out, long maxPendingBytes, Duration maxDelay, boolean newMembers, int level) throws IOException {
+        if (out == null)
+            throw new IOException("Output Stream is null");
+        if (maxPendingBytes < 0)
+            throw new IllegalArgumentException("Maximum pending bytes must be positive.");
+        if (maxDelay != null && (maxDelay.isNegative() || maxDelay.isZero()))
+            throw new IllegalArgumentException("Maximum delay must be positive.");
+
+        _out = out;
+        _maxPendingBytes = maxPendingBytes;
+        _maxDelayNanos = maxDelay == null ? 0 : maxDelay.toNanos();
+        _newMembers = newMembers;
+        _deflater = new Deflater(level, true);
+
+        if (maxDelay != null) {
+            // check a few times per delay so the data doesn't wait much longer than requested
+            long period = Math.max(1, _maxDelayNanos / 4);
+            _delayCheck = new DelayCheck(this);
+            _delayCheck._future = _SCHEDULER.scheduleWithFixedDelay(_delayCheck, period, period, TimeUnit.NANOSECONDS);
+        }
+        else
+            _delayCheck = null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte)b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        _lock.lock();
+        try {
+            checkOpen();
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0)
+                return;
+
+            if (!_memberStarted)
+                startMember();
+            if (_pendingBytes == 0)
+                _pendingSince = System.nanoTime();
+
+            _crc.update(b, off, len);
+            _memberSize += len;
+            _deflater.setInput(b, off, len);
+            while (!_deflater.needsInput())
+                writeCompressed(_deflater.deflate(_buffer, 0, _buffer.length, Deflater.NO_FLUSH));
+            _pendingBytes += len;
+
+            if (_maxPendingBytes > 0 && _pendingBytes >= _maxPendingBytes)
+                push();
+        }
+        finally {
+            _lock.unlock();
+        }
+    }
+
+    /**
+     * Pushes all the data written so far to the underlying stream (see the class documentation), and flushes it.
+     */
+    @Override
+    public void flush() throws IOException {
+        _lock.lock();
+        try {
+            checkOpen();
+            push();
+        }
+        finally {
+            _lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        _lock.lock();
+        try {
+            if (_closed)
+                return;
+
+            try {
+                if (_delayedError != null)
+                    throw _delayedError;
+                // an empty stream still needs to be a valid GZIP file
+                if (_memberStarted || !_anyMember)
+                    endMember();
+                _out.flush();
+            }
+            finally {
+                _closed = true;
+                if (_delayCheck != null)
+                    _delayCheck.cancel();
+                _deflater.end();
+                _out.close();
+            }
+        }
+        finally {
+            _lock.unlock();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        if (_delayedError != null)
+            throw _delayedError;
+    }
+
+    // called by the scheduler thread, which must never block: the push itself is handed to a virtual thread
+    private void checkDelay() {
+        if (isPushDue() && _delayedPush.compareAndSet(false, true))
+            Thread.ofVirtual().name("seerutils-gzip-flusher").start(this::pushDelayed);
+    }
+
+    private boolean isPushDue() {
+        return _pendingBytes > 0 && System.nanoTime() - _pendingSince >= _maxDelayNanos;
+    }
+
+    private void pushDelayed() {
+        _lock.lock();
+        try {
+            // the data might have been pushed (or the stream closed) while the push was waiting for the lock
+            if (!_closed && _delayedError == null && isPushDue())
+                push();
+        }
+        catch (IOException e) {
+            _delayedError = e;
+        }
+        finally {
+            _delayedPush.set(false);
+            _lock.unlock();
+        }
+    }
+
+    private void push() throws IOException {
+        if (_pendingBytes > 0) {
+            if (_newMembers)
+                endMember();
+            else {
+                int n;
+                do {
+                    n = _deflater.deflate(_buffer, 0, _buffer.length, Deflater.SYNC_FLUSH);
+                    writeCompressed(n);
+                } while (n == _buffer.length);
+            }
+            _pendingBytes = 0;
+        }
+        _out.flush();
+    }
+
+    private void startMember() throws IOException {
+        _out.write(_HEADER);
+        _memberStarted = true;
+        _anyMember = true;
+    }
+
+    private void endMember() throws IOException {
+        if (!_memberStarted)
+            startMember();
+
+        _deflater.finish();
+        while (!_deflater.finished())
+            writeCompressed(_deflater.deflate(_buffer));
+        writeInt((int)_crc.getValue());
+        writeInt((int)_memberSize);
+
+        _deflater.reset();
+        _crc.reset();
+        _memberSize = 0;
+        _memberStarted = false;
+    }
+
+    private void writeCompressed(int n) throws IOException {
+        if (n > 0)
+            _out.write(_buffer, 0, n);
+    }
+
+    private void writeInt(int value) throws IOException {
+        _out.write(value & 0xFF);
+        _out.write((value >> 8) & 0xFF);
+        _out.write((value >> 16) & 0xFF);
+        _out.write((value >> 24) & 0xFF);
+    }
+
+    // the task run by the scheduler only references the stream weakly, so a stream that is never closed can still be garbage collected
+    private static final class DelayCheck implements Runnable {
+
+        private final WeakReference<StreamingGzipOutputStream> _stream;
+
+        private volatile ScheduledFuture<?> _future;
+
+        private DelayCheck(StreamingGzipOutputStream stream) {
+            _stream = new WeakReference<>(stream);
+        }
+
+        @Override
+        public void run() {
+            StreamingGzipOutputStream stream = _stream.get();
+            if (stream == null)
+                cancel();
+            else
+                stream.checkDelay();
+        }
+
+        private void cancel() {
+            ScheduledFuture<?> future = _future;
+            if (future != null)
+                future.cancel(false);
+        }
+    }
+}
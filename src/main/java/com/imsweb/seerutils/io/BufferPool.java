@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of scratch buffers of a given size, used to avoid allocating a new buffer for every copy when many copies run concurrently.
+ * <p>
+ * A buffer is acquired with {@link #acquire()} and must be given back with {@link #release(ByteBuffer)} once it's not used anymore (it must not be
+ * used after that). Each platform thread keeps the last buffer it released so it can get it back without any contention; the other released
+ * buffers are kept in a bounded shared queue, and the buffers that don't fit in it are left to the garbage collector. Virtual threads only use the
+ * shared queue since they are not re-used.
+ * <p>
+ * The library uses shared pools of three sizes (see {@link #getShared(int)}); the number of acquisitions served by a pooled buffer (hits) and by a
+ * new buffer (misses) can be used to size the pools.
+ */
+@SuppressWarnings("unused")
+public final class BufferPool {
+
+    /**
+     * Size of the buffers of the shared pool used for small operations (like skipping some data).
+     */
+    public static final int SMALL_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Size of the buffers of the shared pool used for the stream copies.
+     */
+    public static final int MEDIUM_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Size of the buffers of the shared pool used for large files.
+     */
+    public static final int LARGE_BUFFER_SIZE = 1024 * 1024;
+
+    private static final BufferPool _SMALL = new BufferPool(SMALL_BUFFER_SIZE, 256, false);
+
+    private static final BufferPool _MEDIUM = new BufferPool(MEDIUM_BUFFER_SIZE, 64, false);
+
+    private static final BufferPool _LARGE = new BufferPool(LARGE_BUFFER_SIZE, 8, false);
+
+    private final int _bufferSize;
+
+    private final boolean _direct;
+
+    private final BlockingQueue<ByteBuffer> _buffers;
+
+    private final ThreadLocal<ByteBuffer> _threadBuffer = new ThreadLocal<>();
+
+    private final LongAdder _hits = new LongAdder();
+
+    private final LongAdder _misses = new LongAdder();
+
+    /**
+     * Constructor.
+     * @param bufferSize the size of the buffers
+     * @param maxPooledBuffers the maximum number of buffers kept in the shared queue (not counting the buffers kept by the platform threads)
+     * @param direct whether the buffers are direct buffers (which can't be accessed as arrays)
+     */
+    public BufferPool(int bufferSize, int maxPooledBuffers, boolean direct) {
+        if (bufferSize < 1)
+            throw new IllegalArgumentException("Buffer size must be positive.");
+        if (maxPooledBuffers < 1)
+            throw new IllegalArgumentException("Number of pooled buffers must be positive.");
+
+        _bufferSize = bufferSize;
+        _direct = direct;
+        _buffers = new ArrayBlockingQueue<>(maxPooledBuffers);
+    }
+
+    /**
+     * Returns the shared pool of (heap) buffers with the smallest size at least equal to the requested size.
+     * @param minSize the minimum size of the buffers, cannot be larger than {@link #LARGE_BUFFER_SIZE}
+     * @return the shared pool
+     */
+    public static BufferPool getShared(int minSize) {
+        if (minSize <= SMALL_BUFFER_SIZE)
+            return _SMALL;
+        if (minSize <= MEDIUM_BUFFER_SIZE)
+            return _MEDIUM;
+        if (minSize <= LARGE_BUFFER_SIZE)
+            return _LARGE;
+        throw new IllegalArgumentException("Shared buffers can't be larger than " + LARGE_BUFFER_SIZE + " bytes.");
+    }
+
+    /**
+     * Returns a buffer from the pool, or a new one if the pool is empty; the buffer is cleared (position 0, limit set to its capacity).
+     * @return a buffer, never null
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = null;
+        if (!Thread.currentThread().isVirtual()) {
+            buffer = _threadBuffer.get();
+            if (buffer != null)
+                _threadBuffer.remove();
+        }
+        if (buffer == null)
+            buffer = _buffers.poll();
+
+        if (buffer == null) {
+            _misses.increment();
+            return _direct ? ByteBuffer.allocateDirect(_bufferSize) : ByteBuffer.allocate(_bufferSize);
+        }
+
+        _hits.increment();
+        return buffer.clear();
+    }
+
+    /**
+     * Gives a buffer back to the pool; buffers that were not acquired from a pool with the same size and type are ignored.
+     * @param buffer the buffer to release, can be null
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() != _bufferSize || buffer.isDirect() != _direct || buffer.isReadOnly())
+            return;
+
+        if (!Thread.currentThread().isVirtual() && _threadBuffer.get() == null)
+            _threadBuffer.set(buffer);
+        else
+            _buffers.offer(buffer);
+    }
+
+    public int getBufferSize() {
+        return _bufferSize;
+    }
+
+    public boolean isDirect() {
+        return _direct;
+    }
+
+    /**
+     * Returns the number of acquisitions that were served by a pooled buffer.
+     * @return the number of hits
+     */
+    public long getNumHits() {
+        return _hits.sum();
+    }
+
+    /**
+     * Returns the number of acquisitions that required a new buffer.
+     * @return the number of misses
+     */
+    public long getNumMisses() {
+        return _misses.sum();
+    }
+
+    /**
+     * Returns the number of buffers currently available in the shared queue (the buffers kept by the threads are not included).
+     * @return the number of pooled buffers
+     */
+    public int getNumPooledBuffers() {
+        return _buffers.size();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+/**
+ * A token used to stop a long-running operation, either explicitly (from any thread) or once a deadline is reached.
+ * <p>
+ * The operations accepting a token check it between entries (files, zip entries) and between buffers; once the token is cancelled, they stop
+ * as soon as possible, clean up their partial outputs and throw an {@link InterruptedIOException}. A token can be shared by several operations,
+ * for example all the operations done for a single request.
+ */
+@SuppressWarnings("unused")
+public final class CancellationToken {
+
+    // the deadline, as a System.nanoTime() value, only meaningful if there is a deadline
+    private final long _deadline;
+
+    private final boolean _hasDeadline;
+
+    private volatile boolean _cancelled;
+
+    /**
+     * Constructor, creates a token without any deadline.
+     */
+    public CancellationToken() {
+        _deadline = 0;
+        _hasDeadline = false;
+    }
+
+    private CancellationToken(long deadline) {
+        _deadline = deadline;
+        _hasDeadline = true;
+    }
+
+    /**
+     * Creates a token that is automatically cancelled once the provided timeout is elapsed (it can also be cancelled explicitly before that).
+     * @param timeout the timeout, starting now
+     * @return the new token
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        return new CancellationToken(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Cancels the token; the operations using it will stop at their next check.
+     */
+    public void cancel() {
+        _cancelled = true;
+    }
+
+    /**
+     * Returns true if the token was cancelled or if its deadline was reached.
+     * @return true if the token is cancelled
+     */
+    public boolean isCancelled() {
+        return _cancelled || isDeadlineReached();
+    }
+
+    /**
+     * Returns the time remaining before the deadline (zero if it's already reached), null if the token doesn't have a deadline.
+     * @return the time remaining, maybe null
+     */
+    public Duration getRemainingTime() {
+        return _hasDeadline ? Duration.ofNanos(Math.max(0, _deadline - System.nanoTime())) : null;
+    }
+
+    /**
+     * Throws an exception if the token was cancelled or if its deadline was reached.
+     * @throws InterruptedIOException if the token is cancelled
+     */
+    public void throwIfCancelled() throws InterruptedIOException {
+        if (_cancelled)
+            throw new InterruptedIOException("Operation was cancelled");
+        if (isDeadlineReached())
+            throw new InterruptedIOException("Operation exceeded its deadline");
+    }
+
+    private boolean isDeadlineReached() {
+        return _hasDeadline && System.nanoTime() - _deadline >= 0;
+    }
+}
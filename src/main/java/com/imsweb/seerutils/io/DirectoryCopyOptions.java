@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+/**
+ * The options used to copy a directory.
+ * <p>
+ * The files are copied on virtual threads, so the number of threads is only a limit on the number of files copied at the same time; since the
+ * copies are bound by the storage (not the CPU), a value larger than the number of processors usually helps, especially with small files or
+ * network file systems.
+ */
+@SuppressWarnings("unused")
+public class DirectoryCopyOptions {
+
+    /**
+     * Default maximum number of files copied at the same time.
+     */
+    public static final int DEFAULT_NUM_THREADS = 16;
+
+    private int _numThreads = DEFAULT_NUM_THREADS;
+
+    private boolean _preserveAttributes;
+
+    private boolean _continueOnError;
+
+    private RateLimiter _rateLimiter;
+
+    private CancellationToken _cancellationToken;
+
+    /**
+     * Returns the maximum number of files copied at the same time.
+     * @return the maximum number of files copied at the same time
+     */
+    public int getNumThreads() {
+        return _numThreads;
+    }
+
+    /**
+     * Sets the maximum number of files copied at the same time (defaults to {@link #DEFAULT_NUM_THREADS}).
+     * @param numThreads the maximum number of files copied at the same time, must be at least 1
+     */
+    public void setNumThreads(int numThreads) {
+        if (numThreads < 1)
+            throw new IllegalArgumentException("Number of threads must be at least 1.");
+        _numThreads = numThreads;
+    }
+
+    /**
+     * Returns whether the attributes (last modified time, permissions, etc...) of the files and directories are copied.
+     * @return true if the attributes are copied
+     */
+    public boolean isPreserveAttributes() {
+        return _preserveAttributes;
+    }
+
+    /**
+     * Sets whether the attributes (last modified time, permissions, etc...) of the files and directories are copied (defaults to false).
+     * @param preserveAttributes true to copy the attributes
+     */
+    public void setPreserveAttributes(boolean preserveAttributes) {
+        _preserveAttributes = preserveAttributes;
+    }
+
+    /**
+     * Returns whether the operation continues with the other files when a file fails.
+     * @return true if the operation continues after a failure
+     */
+    public boolean isContinueOnError() {
+        return _continueOnError;
+    }
+
+    /**
+     * Sets whether the operation continues with the other files when a file fails (defaults to false); in both cases, the files already being
+     * processed are completed and all the failures are reported in a single {@link DirectoryOperationException}.
+     * @param continueOnError true to continue after a failure
+     */
+    public void setContinueOnError(boolean continueOnError) {
+        _continueOnError = continueOnError;
+    }
+
+    /**
+     * Returns the rate limiter used to throttle the copies, null if they are not throttled.
+     * @return the rate limiter, maybe null
+     */
+    public RateLimiter getRateLimiter() {
+        return _rateLimiter;
+    }
+
+    /**
+     * Sets the rate limiter used to throttle the copies (defaults to null); the limiter is shared by all the files copied at the same time, so it
+     * bounds the combined throughput of the operation, and it can also be shared with other operations.
+     * @param rateLimiter the rate limiter, null to not throttle the copies
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        _rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Returns the token used to cancel the operation, null if it can't be cancelled.
+     * @return the cancellation token, maybe null
+     */
+    public CancellationToken getCancellationToken() {
+        return _cancellationToken;
+    }
+
+    /**
+     * Sets the token used to cancel the operation (defaults to null); the token is checked between files and between chunks of data.
+     * @param cancellationToken the cancellation token, null if the operation can't be cancelled
+     */
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        _cancellationToken = cancellationToken;
+    }
+}
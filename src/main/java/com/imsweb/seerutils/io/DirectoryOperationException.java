@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exception thrown when some of the files of a directory operation (copy, deletion, etc...) failed; all the failures are available, the first
+ * one is the cause of the exception and the other ones are added as suppressed exceptions.
+ */
+public class DirectoryOperationException extends IOException {
+
+    private static final long serialVersionUID = 6248193057114672931L;
+
+    // an unmodifiable copy of an ArrayList, so the failures are serialized with the exception
+    private final List<IOException> _failures;
+
+    /**
+     * Constructor.
+     * @param message the error message
+     * @param failures the failures, cannot be empty
+     */
+    public DirectoryOperationException(String message, List<IOException> failures) {
+        super(message + " (" + failures.size() + " failure" + (failures.size() == 1 ? "" : "s") + ")", failures.get(0));
+
+        _failures = Collections.unmodifiableList(new ArrayList<>(failures));
+        for (int i = 1; i < _failures.size(); i++)
+            addSuppressed(_failures.get(i));
+    }
+
+    /**
+     * Returns the failures, in the order they happened.
+     * @return the failures, never empty
+     */
+    public List<IOException> getFailures() {
+        return _failures;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+/**
+ * The options used to synchronize a directory with another one.
+ * <p>
+ * By default, a file is copied only if it doesn't exist in the target directory or if its size or its last modified time is different; comparing
+ * the content of the files is safer (it detects files modified without changing their size or time) but requires reading both files.
+ */
+@SuppressWarnings("unused")
+public class DirectorySyncOptions extends DirectoryCopyOptions {
+
+    private boolean _compareContent;
+
+    private boolean _deleteExtraneous;
+
+    /**
+     * Returns whether the content of the files that have the same size and last modified time is compared.
+     * @return true if the content is compared
+     */
+    public boolean isCompareContent() {
+        return _compareContent;
+    }
+
+    /**
+     * Sets whether the content of the files that have the same size and last modified time is compared (defaults to false).
+     * @param compareContent true to compare the content
+     */
+    public void setCompareContent(boolean compareContent) {
+        _compareContent = compareContent;
+    }
+
+    /**
+     * Returns whether the files and directories of the target directory that don't exist in the source directory are deleted.
+     * @return true if the extraneous files are deleted
+     */
+    public boolean isDeleteExtraneous() {
+        return _deleteExtraneous;
+    }
+
+    /**
+     * Sets whether the files and directories of the target directory that don't exist in the source directory are deleted (defaults to false); they
+     * are deleted only if all the other files were successfully synchronized.
+     * @param deleteExtraneous true to delete the extraneous files
+     */
+    public void setDeleteExtraneous(boolean deleteExtraneous) {
+        _deleteExtraneous = deleteExtraneous;
+    }
+}
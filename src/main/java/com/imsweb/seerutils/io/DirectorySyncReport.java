@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The changes made by the synchronization of a directory; the paths are relative to the synchronized directories.
+ */
+@SuppressWarnings("unused")
+public class DirectorySyncReport {
+
+    private final List<Path> _addedFiles;
+
+    private final List<Path> _updatedFiles;
+
+    private final List<Path> _deletedFiles;
+
+    private final int _numUnchangedFiles;
+
+    private final long _numBytesCopied;
+
+    /**
+     * Constructor.
+     * @param addedFiles the files copied because they didn't exist in the target directory
+     * @param updatedFiles the files copied because they were different in the target directory
+     * @param deletedFiles the files and directories deleted from the target directory
+     * @param numUnchangedFiles the number of files that were already up-to-date
+     * @param numBytesCopied the total size of the copied files
+     */
+    public DirectorySyncReport(List<Path> addedFiles, List<Path> updatedFiles, List<Path> deletedFiles, int numUnchangedFiles, long numBytesCopied) {
+        _addedFiles = Collections.unmodifiableList(new ArrayList<>(addedFiles));
+        _updatedFiles = Collections.unmodifiableList(new ArrayList<>(updatedFiles));
+        _deletedFiles = Collections.unmodifiableList(new ArrayList<>(deletedFiles));
+        _numUnchangedFiles = numUnchangedFiles;
+        _numBytesCopied = numBytesCopied;
+    }
+
+    public List<Path> getAddedFiles() {
+        return _addedFiles;
+    }
+
+    public List<Path> getUpdatedFiles() {
+        return _updatedFiles;
+    }
+
+    public List<Path> getDeletedFiles() {
+        return _deletedFiles;
+    }
+
+    public int getNumUnchangedFiles() {
+        return _numUnchangedFiles;
+    }
+
+    public long getNumBytesCopied() {
+        return _numBytesCopied;
+    }
+
+    /**
+     * Returns true if the synchronization changed anything in the target directory.
+     * @return true if anything changed
+     */
+    public boolean hasChanges() {
+        return !_addedFiles.isEmpty() || !_updatedFiles.isEmpty() || !_deletedFiles.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return _addedFiles.size() + " added, " + _updatedFiles.size() + " updated, " + _deletedFiles.size() + " deleted, " + _numUnchangedFiles + " unchanged ("
+                + _numBytesCopied + " bytes copied)";
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The profile of a (decompressed) data file: its lines, their lengths, their endings and the bytes that are not printable ASCII characters.
+ * <p>
+ * A line is terminated by a line feed, a carriage return followed by a line feed, or a lone carriage return; a last line without any terminator
+ * is still a line. The line lengths are in bytes and don't include the terminators. The bytes that are not printable ASCII characters are the same
+ * ones rejected by <code>SeerUtils.isPureAscii(byte[])</code>; their offsets are in the decompressed content.
+ */
+@SuppressWarnings("unused")
+public class FileProfile {
+
+    /**
+     * The line endings used by a file.
+     */
+    public enum LineEnding {
+        /**
+         * The file doesn't contain any line terminator.
+         */
+        NONE,
+        /**
+         * All the lines are terminated by a line feed (Unix).
+         */
+        LF,
+        /**
+         * All the lines are terminated by a carriage return followed by a line feed (Windows).
+         */
+        CRLF,
+        /**
+         * All the lines are terminated by a carriage return (old Mac).
+         */
+        CR,
+        /**
+         * The lines use different terminators.
+         */
+        MIXED
+    }
+
+    private final long _numBytes;
+
+    private final long _numLines;
+
+    private final int _minLineLength;
+
+    private final int _maxLineLength;
+
+    private final SortedMap<Integer, Long> _lineLengths;
+
+    private final long _numLfEndings;
+
+    private final long _numCrLfEndings;
+
+    private final long _numCrEndings;
+
+    private final long _numNonAsciiBytes;
+
+    private final List<NonAsciiByte> _nonAsciiBytes;
+
+    /**
+     * Constructor.
+     * @param numBytes the number of (decompressed) bytes
+     * @param numLines the number of lines
+     * @param minLineLength the length of the shortest line (0 if there is no line)
+     * @param maxLineLength the length of the longest line (0 if there is no line)
+     * @param lineLengths the number of lines for each line length
+     * @param numLfEndings the number of lines terminated by a line feed
+     * @param numCrLfEndings the number of lines terminated by a carriage return followed by a line feed
+     * @param numCrEndings the number of lines terminated by a lone carriage return
+     * @param numNonAsciiBytes the total number of bytes that are not printable ASCII characters
+     * @param nonAsciiBytes the first bytes that are not printable ASCII characters, in the order of the file
+     */
+    public FileProfile(long numBytes, long numLines, int minLineLength, int maxLineLength, SortedMap<Integer, Long> lineLengths, long numLfEndings,
+            long numCrLfEndings, long numCrEndings, long numNonAsciiBytes, List<NonAsciiByte> nonAsciiBytes) {
+        _numBytes = numBytes;
+        _numLines = numLines;
+        _minLineLength = minLineLength;
+        _maxLineLength = maxLineLength;
+        _lineLengths = Collections.unmodifiableSortedMap(new TreeMap<>(lineLengths));
+        _numLfEndings = numLfEndings;
+        _numCrLfEndings = numCrLfEndings;
+        _numCrEndings = numCrEndings;
+        _numNonAsciiBytes = numNonAsciiBytes;
+        _nonAsciiBytes = Collections.unmodifiableList(new ArrayList<>(nonAsciiBytes));
+    }
+
+    public long getNumBytes() {
+        return _numBytes;
+    }
+
+    public long getNumLines() {
+        return _numLines;
+    }
+
+    public int getMinLineLength() {
+        return _minLineLength;
+    }
+
+    public int getMaxLineLength() {
+        return _maxLineLength;
+    }
+
+    /**
+     * Returns the number of lines for each line length, sorted by length.
+     * @return the histogram of the line lengths, never null
+     */
+    public SortedMap<Integer, Long> getLineLengths() {
+        return _lineLengths;
+    }
+
+    public long getNumLfEndings() {
+        return _numLfEndings;
+    }
+
+    public long getNumCrLfEndings() {
+        return _numCrLfEndings;
+    }
+
+    public long getNumCrEndings() {
+        return _numCrEndings;
+    }
+
+    /**
+     * Returns the line endings used by the file.
+     * @return the line endings, never null
+     */
+    public LineEnding getLineEnding() {
+        int numStyles = (_numLfEndings > 0 ? 1 : 0) + (_numCrLfEndings > 0 ? 1 : 0) + (_numCrEndings > 0 ? 1 : 0);
+        if (numStyles == 0)
+            return LineEnding.NONE;
+        if (numStyles > 1)
+            return LineEnding.MIXED;
+        return _numLfEndings > 0 ? LineEnding.LF : _numCrLfEndings > 0 ? LineEnding.CRLF : LineEnding.CR;
+    }
+
+    /**
+     * Returns true if all the lines have the same length (which is typical of fixed-column files).
+     * @return true if all the lines have the same length
+     */
+    public boolean isFixedLength() {
+        return _lineLengths.size() == 1;
+    }
+
+    /**
+     * Returns the total number of bytes that are not printable ASCII characters, including the ones not returned by {@link #getNonAsciiBytes()}.
+     * @return the number of bytes that are not printable ASCII characters
+     */
+    public long getNumNonAsciiBytes() {
+        return _numNonAsciiBytes;
+    }
+
+    /**
+     * Returns the first bytes that are not printable ASCII characters (up to the maximum requested when the file was profiled).
+     * @return the bytes that are not printable ASCII characters, never null
+     */
+    public List<NonAsciiByte> getNonAsciiBytes() {
+        return _nonAsciiBytes;
+    }
+
+    /**
+     * Returns true if the file contains only printable ASCII characters.
+     * @return true if the file contains only printable ASCII characters
+     */
+    public boolean isPureAscii() {
+        return _numNonAsciiBytes == 0;
+    }
+
+    @Override
+    public String toString() {
+        return _numLines + " lines (" + _minLineLength + "-" + _maxLineLength + " bytes, " + getLineEnding() + "), " + _numBytes + " bytes, " + _numNonAsciiBytes
+                + " non-ASCII bytes";
+    }
+
+    /**
+     * A byte that is not a printable ASCII character.
+     */
+    public static final class NonAsciiByte {
+
+        private final long _offset;
+
+        private final long _lineNumber;
+
+        private final int _value;
+
+        /**
+         * Constructor.
+         * @param offset the offset of the byte in the (decompressed) file
+         * @param lineNumber the number of the line containing the byte (starting at 1)
+         * @param value the value of the byte (between 0 and 255)
+         */
+        public NonAsciiByte(long offset, long lineNumber, int value) {
+            _offset = offset;
+            _lineNumber = lineNumber;
+            _value = value;
+        }
+
+        public long getOffset() {
+            return _offset;
+        }
+
+        public long getLineNumber() {
+            return _lineNumber;
+        }
+
+        public int getValue() {
+            return _value;
+        }
+
+        @Override
+        public String toString() {
+            return "byte " + _value + " at offset " + _offset + " (line " + _lineNumber + ")";
+        }
+    }
+}
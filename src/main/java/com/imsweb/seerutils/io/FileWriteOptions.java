@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+/**
+ * The options used to write files.
+ * <p>
+ * By default, the files are written in place and the data is left to the operating system, which writes it to the storage at its own pace; the
+ * options allow to never expose a partially written file (atomic writes) and to make sure the files survive a crash once the write returns
+ * (synchronized writes).
+ */
+@SuppressWarnings("unused")
+public class FileWriteOptions {
+
+    private boolean _atomic;
+
+    private boolean _sync;
+
+    /**
+     * Returns whether the files are written to a temporary file that is then renamed to the target file.
+     * @return true if the files are written atomically
+     */
+    public boolean isAtomic() {
+        return _atomic;
+    }
+
+    /**
+     * Sets whether the files are written to a temporary file (in the same directory) that is then renamed to the target file (defaults to false); the
+     * readers of a file then see either its previous content or its new content, never a partial one. If the write fails, the target file is
+     * left untouched.
+     * @param atomic true to write the files atomically
+     */
+    public void setAtomic(boolean atomic) {
+        _atomic = atomic;
+    }
+
+    /**
+     * Returns whether the data (and the directory entries) of the files is forced to the storage before the write returns.
+     * @return true if the writes are synchronized
+     */
+    public boolean isSync() {
+        return _sync;
+    }
+
+    /**
+     * Sets whether the data (and the directory entries) of the files is forced to the storage before the write returns (defaults to false). When
+     * several files are written at once, they are forced together once all of them are written, and each directory is forced only once.
+     * @param sync true to synchronize the writes
+     */
+    public void setSync(boolean sync) {
+        _sync = sync;
+    }
+}
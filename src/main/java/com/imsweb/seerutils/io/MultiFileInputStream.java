@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.function.IOFunction;
+
+/**
+ * An input stream that returns the data of several files, one after the other, as if they were a single file.
+ * <p>
+ * The files are opened with the provided function (typically one that decompresses them). To avoid stalling every time the stream moves to the
+ * next file, the next few files are opened in the background and their data is read ahead (see {@link ReadAheadInputStream}), so the memory used
+ * by the stream is bounded by the number of prefetched files.
+ * <p>
+ * An error opening or reading a file is reported when the stream reaches that file.
+ */
+@SuppressWarnings("unused")
+public class MultiFileInputStream extends InputStream {
+
+    private final List<File> _files;
+
+    private final IOFunction<File, InputStream> _opener;
+
+    private final int _numPrefetch;
+
+    private final ExecutorService _executor;
+
+    // the files being opened in the background, in order
+    private final Deque<Future<InputStream>> _prefetched = new ArrayDeque<>();
+
+    private int _nextFileIdx;
+
+    private InputStream _current;
+
+    private volatile boolean _closed;
+
+    /**
+     * Constructor.
+     * @param files the files to read, in order
+     * @param opener the function used to open each file
+     * @param numPrefetch the number of files opened (and read) ahead in the background, 0 to open the files only when they are needed
+     */
+    public MultiFileInputStream(List<File> files, IOFunction<File, InputStream> opener, int numPrefetch) {
+        if (files == null || opener == null)
+            throw new NullPointerException();
+        if (numPrefetch < 0)
+            throw new IllegalArgumentException("Number of prefetched files must be positive.");
+
+        _files = new ArrayList<>(files);
+        _opener = opener;
+        _numPrefetch = numPrefetch;
+        _executor = numPrefetch == 0 ? null : Executors.newFixedThreadPool(Math.min(numPrefetch, Math.max(1, _files.size())), r -> {
+            Thread thread = new Thread(r, "seerutils-file-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        prefetch();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0)
+            return 0;
+
+        while (true) {
+            if (_current == null && !nextFile())
+                return -1;
+
+            int n = _current.read(b, off, len);
+            if (n != -1)
+                return n;
+
+            _current.close();
+            _current = null;
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        return _current == null ? 0 : _current.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_closed)
+            return;
+
+        _closed = true;
+        IOException error = null;
+        try {
+            if (_current != null)
+                _current.close();
+        }
+        catch (IOException e) {
+            error = e;
+        }
+
+        // the files being opened need to be closed once they are opened
+        for (Future<InputStream> future : _prefetched) {
+            try {
+                future.get().close();
+            }
+            catch (ExecutionException | IOException e) {
+                // the file is not going to be read anyway
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        _prefetched.clear();
+
+        if (_executor != null)
+            _executor.shutdownNow();
+
+        if (error != null)
+            throw error;
+    }
+
+    private boolean nextFile() throws IOException {
+        if (_executor == null) {
+            if (_nextFileIdx >= _files.size())
+                return false;
+            _current = _opener.apply(_files.get(_nextFileIdx++));
+            return true;
+        }
+
+        Future<InputStream> future = _prefetched.pollFirst();
+        if (future == null)
+            return false;
+        prefetch();
+
+        try {
+            _current = future.get();
+            return true;
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioe)
+                throw ioe;
+            throw new IOException("Unable to open file", e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Opening file was interrupted");
+        }
+    }
+
+    private void prefetch() {
+        if (_executor == null)
+            return;
+
+        while (_prefetched.size() < _numPrefetch && _nextFileIdx < _files.size()) {
+            File file = _files.get(_nextFileIdx++);
+            _prefetched.addLast(_executor.submit(() -> new ReadAheadInputStream(_opener.apply(file))));
+        }
+    }
+}
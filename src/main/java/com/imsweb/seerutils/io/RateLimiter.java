@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket limiting the number of bytes per second processed by one or several operations.
+ * <p>
+ * The bucket fills at the requested rate, up to a maximum burst size; an operation acquires the bytes it's about to process and waits if the bucket
+ * doesn't contain enough of them. Since the bytes are reserved before waiting, an instance can be shared by concurrent operations (like several
+ * copies running at the same time) and their combined throughput will be bounded by the rate.
+ */
+@SuppressWarnings("unused")
+public class RateLimiter {
+
+    private final long _bytesPerSecond;
+
+    private final long _maxBurst;
+
+    // the available bytes (negative when some bytes were reserved ahead of time) and the time they were computed
+    private double _available;
+    private long _lastUpdate;
+
+    /**
+     * Constructor, allows bursts of one tenth of a second.
+     * @param bytesPerSecond the maximum number of bytes per second
+     */
+    public RateLimiter(long bytesPerSecond) {
+        this(bytesPerSecond, Math.max(1, bytesPerSecond / 10));
+    }
+
+    /**
+     * Constructor.
+     * @param bytesPerSecond the maximum number of bytes per second
+     * @param maxBurst the maximum number of bytes that can be processed without waiting after a period of inactivity
+     */
+    public RateLimiter(long bytesPerSecond, long maxBurst) {
+        if (bytesPerSecond < 1)
+            throw new IllegalArgumentException("Number of bytes per second must be positive.");
+        if (maxBurst < 1)
+            throw new IllegalArgumentException("Maximum burst must be positive.");
+
+        _bytesPerSecond = bytesPerSecond;
+        _maxBurst = maxBurst;
+        _available = maxBurst;
+        _lastUpdate = System.nanoTime();
+    }
+
+    public long getBytesPerSecond() {
+        return _bytesPerSecond;
+    }
+
+    public long getMaxBurst() {
+        return _maxBurst;
+    }
+
+    /**
+     * Acquires the requested number of bytes, waiting until the rate allows them to be processed.
+     * @param bytes the number of bytes about to be processed (can be larger than the maximum burst)
+     * @throws InterruptedIOException if the thread is interrupted while waiting
+     */
+    public void acquire(long bytes) throws InterruptedIOException {
+        if (bytes <= 0)
+            return;
+
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            _available = Math.min(_maxBurst, _available + (now - _lastUpdate) * (double)_bytesPerSecond / TimeUnit.SECONDS.toNanos(1));
+            _lastUpdate = now;
+            _available -= bytes;
+            waitNanos = _available >= 0 ? 0 : (long)(-_available * TimeUnit.SECONDS.toNanos(1) / _bytesPerSecond);
+        }
+
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the rate limiter");
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * An input stream that reads another stream on a background thread, so the work done to produce the data (reading the file, decompressing it,
+ * etc...) overlaps with the work done by the caller to consume it.
+ * <p>
+ * The data is read into a fixed number of buffers that are re-used once the caller has consumed them, so the memory used by the stream doesn't
+ * depend on the speed of the caller; the background thread waits when all the buffers are full.
+ * <p>
+ * The background thread is a regular (platform) daemon thread since the work it does is typically CPU-bound.
+ */
+@SuppressWarnings("unused")
+public class ReadAheadInputStream extends InputStream {
+
+    /**
+     * Default size of the buffers (256 KB).
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Default number of buffers.
+     */
+    public static final int DEFAULT_NUM_BUFFERS = 4;
+
+    // marks the end of the data
+    private static final Buffer _EOF = new Buffer(null);
+
+    private final InputStream _source;
+
+    private final BlockingQueue<Buffer> _freeBuffers;
+
+    private final BlockingQueue<Buffer> _filledBuffers;
+
+    private final Thread _thread;
+
+    private volatile boolean _closed;
+
+    private Buffer _current;
+
+    private int _offset;
+
+    private boolean _eof;
+
+    /**
+     * Constructor, uses the default number and size of buffers.
+     * @param source the stream to read on the background thread
+     */
+    public ReadAheadInputStream(InputStream source) throws IOException {
+        this(source, DEFAULT_BUFFER_SIZE, DEFAULT_NUM_BUFFERS);
+    }
+
+    /**
+     * Constructor; the background thread starts reading right away.
+     * @param source the stream to read on the background thread
+     * @param bufferSize the size of each buffer
+     * @param numBuffers the number of buffers, must be at least 2 so the background thread can fill a buffer while the caller drains another
+     */
+    public ReadAheadInputStream(InputStream source, int bufferSize, int numBuffers) throws IOException {
+        if (source == null)
+            throw new IOException("Input Stream is null");
+        if (bufferSize < 1)
+            throw new IllegalArgumentException("Buffer size must be at least 1.");
+        if (numBuffers < 2)
+            throw new IllegalArgumentException("Number of buffers must be at least 2.");
+
+        _source = source;
+        _freeBuffers = new ArrayBlockingQueue<>(numBuffers);
+        for (int i = 0; i < numBuffers; i++)
+            _freeBuffers.add(new Buffer(new byte[bufferSize]));
+        // one extra slot for the end (or error) marker
+        _filledBuffers = new ArrayBlockingQueue<>(numBuffers + 1);
+
+        _thread = new Thread(this::readSource, "seerutils-read-ahead");
+        _thread.setDaemon(true);
+        _thread.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0)
+            return 0;
+
+        if (_current == null || _offset == _current._length) {
+            if (_current != null) {
+                _freeBuffers.add(_current);
+                _current = null;
+            }
+            if (_eof)
+                return -1;
+
+            Buffer next;
+            try {
+                next = _filledBuffers.take();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Read-ahead was interrupted");
+            }
+
+            if (next == _EOF) {
+                _eof = true;
+                return -1;
+            }
+            if (next._error != null) {
+                _eof = true;
+                throw next._error;
+            }
+
+            _current = next;
+            _offset = 0;
+        }
+
+        int n = Math.min(len, _current._length - _offset);
+        System.arraycopy(_current._data, _offset, b, off, n);
+        _offset += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (_closed)
+            throw new IOException("Stream closed");
+        return _current == null ? 0 : (_current._length - _offset);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (_closed)
+            return;
+
+        _closed = true;
+        _thread.interrupt();
+        try {
+            _thread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            _source.close();
+        }
+    }
+
+    // runs in the background, filling the free buffers
+    private void readSource() {
+        try {
+            while (!_closed) {
+                Buffer buffer = _freeBuffers.take();
+                int n = IOUtils.read(_source, buffer._data);
+                buffer._length = n;
+                if (n > 0)
+                    _filledBuffers.put(buffer);
+                if (n < buffer._data.length) {
+                    _filledBuffers.put(_EOF);
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            // the stream was closed
+        }
+        catch (IOException | RuntimeException e) {
+            if (!_closed) {
+                Buffer error = new Buffer(null);
+                error._error = e instanceof IOException ioe ? ioe : new IOException("Unable to read data", e);
+                _filledBuffers.offer(error);
+            }
+        }
+    }
+
+    private static final class Buffer {
+
+        private final byte[] _data;
+
+        private int _length;
+
+        private IOException _error;
+
+        private Buffer(byte[] data) {
+            _data = data;
+        }
+    }
+}
@@ -4,12 +4,15 @@ import java.io.EOFException;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.zip.ZipException;
 
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
 import org.apache.commons.compress.utils.InputStreamStatistics;
 
+import com.imsweb.seerutils.io.BufferPool;
+
 @SuppressWarnings("unused")
 public class ZipArchiveThresholdInputStream extends FilterInputStream {
 
@@ -168,28 +171,29 @@ public class ZipArchiveThresholdInputStream extends FilterInputStream {
      * @see InputStream#skip(long)
      */
     static long skipFully(final InputStream input, final long toSkip) throws IOException {
-        final int skipBufferSize = 2048;
-
         if (toSkip < 0)
             throw new IllegalArgumentException("Skip count must be non-negative, actual: " + toSkip);
         if (toSkip == 0)
             return 0L;
 
-        /*
-         * N.B. no need to synchronize this because: - we don't care if the buffer is created multiple times (the data
-         * is ignored) - we always use the same size buffer, so if it it is recreated it will still be OK (if the buffer
-         * size were variable, we would need to synch. to ensure some other thread did not create a smaller one)
-         */
-        byte[] skipByteBuffer = new byte[skipBufferSize];
+        // the data is ignored, so the buffer can be shared with any other operation
+        BufferPool pool = BufferPool.getShared(BufferPool.SMALL_BUFFER_SIZE);
+        ByteBuffer buffer = pool.acquire();
+        byte[] skipByteBuffer = buffer.array();
 
         long remain = toSkip;
-        while (remain > 0) {
-            // See https://issues.apache.org/jira/browse/IO-203 for why we use read() rather than delegating to skip()
-            final long n = input.read(skipByteBuffer, 0, (int)Math.min(remain, skipBufferSize));
-            if (n < 0)  // EOF
-                break;
-
-            remain -= n;
+        try {
+            while (remain > 0) {
+                // See https://issues.apache.org/jira/browse/IO-203 for why we use read() rather than delegating to skip()
+                final long n = input.read(skipByteBuffer, 0, (int)Math.min(remain, skipByteBuffer.length));
+                if (n < 0)  // EOF
+                    break;
+
+                remain -= n;
+            }
+        }
+        finally {
+            pool.release(buffer);
         }
 
         if (toSkip == remain)
@@ -6,12 +6,18 @@ package com.imsweb.seerutils.zip;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.Enumeration;
 
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntryPredicate;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipFile;
-import org.apache.commons.io.IOUtils;
+
+import com.imsweb.seerutils.io.BufferPool;
+import com.imsweb.seerutils.io.CancellationToken;
 
 /**
  * This class wraps a {@link ZipFile} in order to check the entries for <a href="https://en.wikipedia.org/wiki/Zip_bomb">zip bombs</a>
@@ -79,12 +85,14 @@ public class ZipSecureFile implements AutoCloseable {
      * Returns an input stream for reading the contents of the specified zip file entry.
      * <p>
      * Closing this ZIP file will, in turn, close all input streams that have been returned by invocations of this method.
+     * <p>
+     * This method can be called from several threads; the returned streams use positional reads and can be consumed concurrently.
      * @param entry the zip file entry
      * @return the input stream for reading the contents of the specified zip file entry.
      * @throws IOException if an I/O error has occurred
      * @throws IllegalStateException if the zip file has been closed
      */
-    public InputStream getInputStream(ZipArchiveEntry entry) throws IOException {
+    public synchronized InputStream getInputStream(ZipArchiveEntry entry) throws IOException {
         ZipArchiveThresholdInputStream is = new ZipArchiveThresholdInputStream(_zipFile.getInputStream(entry));
 
         is.setEntry(entry);
@@ -94,6 +102,18 @@ public class ZipSecureFile implements AutoCloseable {
         return is;
     }
 
+    /**
+     * Copies the entries accepted by the provided predicate into the target stream, without decompressing and re-compressing their data.
+     * <p>
+     * Since the data is never inflated, the zip-bomb checks don't apply to this method.
+     * @param target the stream to copy the entries to
+     * @param predicate the predicate used to select the entries to copy
+     * @throws IOException if an I/O error has occurred
+     */
+    public void copyRawEntries(ZipArchiveOutputStream target, ZipArchiveEntryPredicate predicate) throws IOException {
+        _zipFile.copyRawEntries(target, predicate);
+    }
+
     /**
      * In-memory test of a ZIP file to ensure it is not a zip-bomb
      * @param url location of zip file
@@ -102,12 +122,33 @@ public class ZipSecureFile implements AutoCloseable {
      * @throws IOException if a problem with reading the file
      */
     public static boolean isZipBomb(URL url, int maxEntries) throws IOException {
+        return isZipBomb(url, maxEntries, null);
+    }
+
+    /**
+     * In-memory test of a ZIP file to ensure it is not a zip-bomb, stopping if the provided token is cancelled.
+     * <p>
+     * The token is checked before each entry and between chunks of inflated data, so a cancellation (or a deadline) is honored even in the middle
+     * of a large entry.
+     * @param url location of zip file
+     * @param maxEntries maximum number of entries allowed in teh ZIP file
+     * @param token optional cancellation token (if null, the test can't be cancelled)
+     * @return true if a possible zip-bomb
+     * @throws InterruptedIOException if the token is cancelled
+     * @throws IOException if a problem with reading the file
+     */
+    public static boolean isZipBomb(URL url, int maxEntries, CancellationToken token) throws IOException {
         boolean detected = false;
         long numEntries = 0;
 
+        BufferPool pool = BufferPool.getShared(BufferPool.MEDIUM_BUFFER_SIZE);
+        ByteBuffer buffer = pool.acquire();
         try (ZipSecureFile z = new ZipSecureFile(new File(url.getFile()))) {
             Enumeration<? extends ZipArchiveEntry> entries = z.getEntries();
             while (entries.hasMoreElements()) {
+                if (token != null)
+                    token.throwIfCancelled();
+
                 ZipArchiveEntry entry = entries.nextElement();
 
                 numEntries++;
@@ -116,8 +157,16 @@ public class ZipSecureFile implements AutoCloseable {
                     break;
                 }
 
+                // the data is only read for the checks, there is no need to keep it in memory
                 try (InputStream inputStream = z.getInputStream(entry)) {
-                    if (IOUtils.toByteArray(inputStream).length == 0)
+                    long length = 0;
+                    int n;
+                    while ((n = inputStream.read(buffer.array())) != -1) {
+                        if (token != null)
+                            token.throwIfCancelled();
+                        length += n;
+                    }
+                    if (length == 0)
                         throw new IllegalStateException("Error processing file");
                 }
             }
@@ -125,6 +174,9 @@ public class ZipSecureFile implements AutoCloseable {
         catch (ZipEntryTooLargeException | ZipInvalidCompressionRatioException e) {
             detected = true;
         }
+        finally {
+            pool.release(buffer);
+        }
 
         return detected;
     }
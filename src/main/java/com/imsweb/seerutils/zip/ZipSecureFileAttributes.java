@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.zip;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+
+/**
+ * The basic attributes of a file or directory in a {@link ZipSecureFileSystem}.
+ * <p>
+ * Directories that don't have their own entry in the archive use the last modified time of the zip file.
+ */
+public class ZipSecureFileAttributes implements BasicFileAttributes {
+
+    private final ZipArchiveEntry _entry;
+
+    private final boolean _directory;
+
+    private final FileTime _defaultTime;
+
+    ZipSecureFileAttributes(ZipArchiveEntry entry, boolean directory, FileTime defaultTime) {
+        _entry = entry;
+        _directory = directory;
+        _defaultTime = defaultTime;
+    }
+
+    /**
+     * Returns the underlying zip entry; null for the directories that don't have their own entry in the archive.
+     * @return the underlying zip entry, maybe null
+     */
+    public ZipArchiveEntry getEntry() {
+        return _entry;
+    }
+
+    @Override
+    public FileTime lastModifiedTime() {
+        return _entry == null || _entry.getLastModifiedTime() == null ? _defaultTime : _entry.getLastModifiedTime();
+    }
+
+    @Override
+    public FileTime lastAccessTime() {
+        return _entry == null || _entry.getLastAccessTime() == null ? lastModifiedTime() : _entry.getLastAccessTime();
+    }
+
+    @Override
+    public FileTime creationTime() {
+        return _entry == null || _entry.getCreationTime() == null ? lastModifiedTime() : _entry.getCreationTime();
+    }
+
+    @Override
+    public boolean isRegularFile() {
+        return !_directory;
+    }
+
+    @Override
+    public boolean isDirectory() {
+        return _directory;
+    }
+
+    @Override
+    public boolean isSymbolicLink() {
+        return false;
+    }
+
+    @Override
+    public boolean isOther() {
+        return false;
+    }
+
+    @Override
+    public long size() {
+        return _directory || _entry == null ? 0L : Math.max(0L, _entry.getSize());
+    }
+
+    @Override
+    public Object fileKey() {
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.zip;
+
+import java.nio.file.FileStore;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.attribute.FileStoreAttributeView;
+
+/**
+ * The single (read-only) file store of a {@link ZipSecureFileSystem}.
+ */
+class ZipSecureFileStore extends FileStore {
+
+    private final ZipSecureFileSystem _fileSystem;
+
+    ZipSecureFileStore(ZipSecureFileSystem fileSystem) {
+        _fileSystem = fileSystem;
+    }
+
+    @Override
+    public String name() {
+        return _fileSystem.getZipFile().getName();
+    }
+
+    @Override
+    public String type() {
+        return ZipSecureFileSystemProvider.SCHEME;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public long getTotalSpace() {
+        return _fileSystem.getZipFile().length();
+    }
+
+    @Override
+    public long getUsableSpace() {
+        return 0;
+    }
+
+    @Override
+    public long getUnallocatedSpace() {
+        return 0;
+    }
+
+    @Override
+    public boolean supportsFileAttributeView(Class<? extends FileAttributeView> type) {
+        return type == BasicFileAttributeView.class;
+    }
+
+    @Override
+    public boolean supportsFileAttributeView(String name) {
+        return "basic".equals(name);
+    }
+
+    @Override
+    public <V extends FileStoreAttributeView> V getFileStoreAttributeView(Class<V> type) {
+        return null;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) {
+        throw new UnsupportedOperationException("Attribute '" + attribute + "' is not supported");
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.zip;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedFileSystemException;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystem;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.UserPrincipalLookupService;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+
+/**
+ * A read-only {@link FileSystem} view of a zip file, allowing the archive to be used with the regular <code>java.nio.file</code> APIs
+ * (<code>Files.lines</code>, <code>Files.walk</code>, etc...).
+ * <p>
+ * Contrary to the JDK zip file system, the data of the entries is read through a {@link ZipSecureFile}, so the zip-bomb checks apply to every read.
+ * The directory tree is built from the central directory the first time it is needed, and the entries are only decompressed when they are read.
+ * <p>
+ * Closing the file system closes the underlying zip file.
+ */
+@SuppressWarnings("unused")
+public class ZipSecureFileSystem extends FileSystem {
+
+    private final ZipSecureFileSystemProvider _provider;
+
+    private final File _file;
+
+    private final ZipSecureFile _zipFile;
+
+    private final ZipSecureFileStore _fileStore;
+
+    // the nodes of the directory tree, keyed by absolute path; built the first time they are needed
+    private volatile Map<String, Node> _nodes;
+
+    private volatile boolean _open = true;
+
+    /**
+     * Creates a new file system for the provided zip file, using the default zip-bomb thresholds of {@link ZipSecureFile}.
+     * @param file zip file, must exist
+     * @return the new file system
+     * @throws IOException if the zip file can't be opened
+     */
+    public static ZipSecureFileSystem newFileSystem(File file) throws IOException {
+        return new ZipSecureFileSystem(file, new ZipSecureFile(file));
+    }
+
+    /**
+     * Creates a new file system for the provided zip file.
+     * @param file zip file, must exist
+     * @param minInflationRatio the minimum accepted compression ratio
+     * @param maxEntrySize the maximum accepted uncompressed size of a single entry
+     * @return the new file system
+     * @throws IOException if the zip file can't be opened
+     */
+    public static ZipSecureFileSystem newFileSystem(File file, double minInflationRatio, long maxEntrySize) throws IOException {
+        return new ZipSecureFileSystem(file, new ZipSecureFile(file, minInflationRatio, maxEntrySize));
+    }
+
+    private ZipSecureFileSystem(File file, ZipSecureFile zipFile) {
+        _provider = new ZipSecureFileSystemProvider(this);
+        _file = file;
+        _zipFile = zipFile;
+        _fileStore = new ZipSecureFileStore(this);
+    }
+
+    File getZipFile() {
+        return _file;
+    }
+
+    @Override
+    public ZipSecureFileSystemProvider provider() {
+        return _provider;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (_open) {
+            _open = false;
+            _zipFile.close();
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return _open;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public String getSeparator() {
+        return "/";
+    }
+
+    @Override
+    public Iterable<Path> getRootDirectories() {
+        return Collections.singletonList(new ZipSecurePath(this, "/"));
+    }
+
+    @Override
+    public Iterable<FileStore> getFileStores() {
+        return Collections.singletonList(_fileStore);
+    }
+
+    FileStore getFileStore() {
+        return _fileStore;
+    }
+
+    @Override
+    public Set<String> supportedFileAttributeViews() {
+        return Collections.singleton("basic");
+    }
+
+    @Override
+    public ZipSecurePath getPath(String first, String... more) {
+        if (more.length == 0)
+            return new ZipSecurePath(this, first);
+
+        StringBuilder buf = new StringBuilder(first);
+        for (String segment : more) {
+            if (segment.isEmpty())
+                continue;
+            if (!buf.isEmpty())
+                buf.append('/');
+            buf.append(segment);
+        }
+        return new ZipSecurePath(this, buf.toString());
+    }
+
+    @Override
+    public PathMatcher getPathMatcher(String syntaxAndPattern) {
+        int idx = syntaxAndPattern.indexOf(':');
+        if (idx <= 0)
+            throw new IllegalArgumentException("Invalid syntax and pattern: " + syntaxAndPattern);
+
+        String syntax = syntaxAndPattern.substring(0, idx);
+        String pattern = syntaxAndPattern.substring(idx + 1);
+        Pattern regex;
+        if (syntax.equalsIgnoreCase("regex"))
+            regex = Pattern.compile(pattern);
+        else if (syntax.equalsIgnoreCase("glob"))
+            regex = Pattern.compile(globToRegex(pattern));
+        else
+            throw new UnsupportedOperationException("Syntax '" + syntax + "' is not supported");
+
+        return path -> regex.matcher(path.toString()).matches();
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder("^");
+        boolean inGroup = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*':
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        regex.append(".*");
+                        i++;
+                    }
+                    else
+                        regex.append("[^/]*");
+                    break;
+                case '?':
+                    regex.append("[^/]");
+                    break;
+                case '{':
+                    regex.append("(?:");
+                    inGroup = true;
+                    break;
+                case '}':
+                    regex.append(')');
+                    inGroup = false;
+                    break;
+                case ',':
+                    regex.append(inGroup ? "|" : ",");
+                    break;
+                case '[':
+                    regex.append('[');
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '!') {
+                        regex.append('^');
+                        i++;
+                    }
+                    break;
+                case '\\':
+                    if (i + 1 < glob.length())
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    break;
+                default:
+                    if (".^$+()|".indexOf(c) >= 0)
+                        regex.append('\\');
+                    regex.append(c);
+            }
+        }
+        return regex.append('$').toString();
+    }
+
+    @Override
+    public UserPrincipalLookupService getUserPrincipalLookupService() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public WatchService newWatchService() {
+        throw new UnsupportedOperationException();
+    }
+
+    private void checkOpen() {
+        if (!_open)
+            throw new ClosedFileSystemException();
+    }
+
+    private Map<String, Node> getNodes() {
+        Map<String, Node> nodes = _nodes;
+        if (nodes == null) {
+            synchronized (this) {
+                nodes = _nodes;
+                if (nodes == null) {
+                    nodes = buildNodes();
+                    _nodes = nodes;
+                }
+            }
+        }
+        return nodes;
+    }
+
+    private Map<String, Node> buildNodes() {
+        Map<String, Node> nodes = new HashMap<>();
+        nodes.put("/", new Node(null, true));
+
+        Enumeration<ZipArchiveEntry> entries = _zipFile.getEntries();
+        while (entries.hasMoreElements()) {
+            ZipArchiveEntry entry = entries.nextElement();
+            String path = new ZipSecurePath(this, "/" + entry.getName()).normalize().toString();
+            if (path.equals("/"))
+                continue;
+
+            Node node = nodes.get(path);
+            if (node == null)
+                nodes.put(path, new Node(entry, entry.isDirectory()));
+            else if (node._entry == null && node._directory == entry.isDirectory())
+                node._entry = entry;
+
+            // register the file with its parents, creating the implicit directories along the way
+            String child = path;
+            int idx = child.lastIndexOf('/');
+            while (idx >= 0) {
+                String parent = idx == 0 ? "/" : child.substring(0, idx);
+                Node parentNode = nodes.computeIfAbsent(parent, k -> new Node(null, true));
+                if (!parentNode._children.add(child.substring(idx + 1)))
+                    break;
+                child = parent;
+                idx = child.equals("/") ? -1 : child.lastIndexOf('/');
+            }
+        }
+
+        return nodes;
+    }
+
+    private Node getNode(ZipSecurePath path) throws NoSuchFileException {
+        checkOpen();
+        Node node = getNodes().get(((ZipSecurePath)path.toAbsolutePath().normalize()).getPathString());
+        if (node == null)
+            throw new NoSuchFileException(path.toString());
+        return node;
+    }
+
+    boolean exists(ZipSecurePath path) {
+        checkOpen();
+        return getNodes().containsKey(((ZipSecurePath)path.toAbsolutePath().normalize()).getPathString());
+    }
+
+    ZipSecureFileAttributes readAttributes(ZipSecurePath path) throws IOException {
+        Node node = getNode(path);
+        FileTime defaultTime = FileTime.fromMillis(_file.lastModified());
+        return new ZipSecureFileAttributes(node._entry, node._directory, defaultTime);
+    }
+
+    List<Path> getChildren(ZipSecurePath dir) throws IOException {
+        Node node = getNode(dir);
+        if (!node._directory)
+            throw new NotDirectoryException(dir.toString());
+        return node._children.stream().map(name -> dir.resolve(new ZipSecurePath(this, name))).toList();
+    }
+
+    ZipArchiveEntry getFileEntry(ZipSecurePath path) throws IOException {
+        Node node = getNode(path);
+        if (node._directory)
+            throw new IOException("'" + path + "' is a directory");
+        return node._entry;
+    }
+
+    InputStream getInputStream(ZipArchiveEntry entry) throws IOException {
+        checkOpen();
+        return _zipFile.getInputStream(entry);
+    }
+
+    long getMaxEntrySize() {
+        return _zipFile.getMaxEntrySize();
+    }
+
+    private static final class Node {
+
+        private ZipArchiveEntry _entry;
+
+        private final boolean _directory;
+
+        private final SortedSet<String> _children = new TreeSet<>();
+
+        private Node(ZipArchiveEntry entry, boolean directory) {
+            _entry = entry;
+            _directory = directory;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.zip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AccessMode;
+import java.nio.file.CopyOption;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystem;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
+import java.nio.file.ReadOnlyFileSystemException;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+
+/**
+ * The provider of a {@link ZipSecureFileSystem}.
+ * <p>
+ * This provider is not installed (it is not returned by {@link FileSystemProvider#installedProviders()}), each file system has its own instance;
+ * use {@link ZipSecureFileSystem#newFileSystem(java.io.File)} to create a new file system.
+ */
+public class ZipSecureFileSystemProvider extends FileSystemProvider {
+
+    /**
+     * The scheme used by the URIs of this provider.
+     */
+    public static final String SCHEME = "seerzip";
+
+    private final ZipSecureFileSystem _fileSystem;
+
+    ZipSecureFileSystemProvider(ZipSecureFileSystem fileSystem) {
+        _fileSystem = fileSystem;
+    }
+
+    private ZipSecurePath checkPath(Path path) {
+        if (path == null)
+            throw new NullPointerException();
+        if (!(path instanceof ZipSecurePath p) || p.getFileSystem() != _fileSystem)
+            throw new ProviderMismatchException();
+        return p;
+    }
+
+    @Override
+    public String getScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public FileSystem newFileSystem(URI uri, Map<String, ?> env) {
+        throw new UnsupportedOperationException("Use ZipSecureFileSystem.newFileSystem() to create a new file system");
+    }
+
+    @Override
+    public FileSystem getFileSystem(URI uri) {
+        throw new UnsupportedOperationException("Use ZipSecureFileSystem.newFileSystem() to create a new file system");
+    }
+
+    @Override
+    public Path getPath(URI uri) {
+        throw new UnsupportedOperationException("Use ZipSecureFileSystem.getPath() to create a new path");
+    }
+
+    @Override
+    public InputStream newInputStream(Path path, OpenOption... options) throws IOException {
+        for (OpenOption option : options)
+            if (option != StandardOpenOption.READ && option != LinkOption.NOFOLLOW_LINKS)
+                throw new UnsupportedOperationException("Option '" + option + "' is not supported");
+        return _fileSystem.getInputStream(_fileSystem.getFileEntry(checkPath(path)));
+    }
+
+    @Override
+    public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options, FileAttribute<?>... attrs) throws IOException {
+        for (OpenOption option : options)
+            if (option != StandardOpenOption.READ && option != LinkOption.NOFOLLOW_LINKS)
+                throw new ReadOnlyFileSystemException();
+
+        ZipArchiveEntry entry = _fileSystem.getFileEntry(checkPath(path));
+
+        // the channel reports the declared size, which could be used to allocate memory, so it needs to be checked up-front
+        long maxEntrySize = _fileSystem.getMaxEntrySize();
+        if (maxEntrySize > 0 && entry.getSize() > maxEntrySize)
+            throw new ZipEntryTooLargeException("The file exceeded the maximum entry size allowed");
+
+        return new EntryChannel(_fileSystem, entry);
+    }
+
+    @Override
+    public DirectoryStream<Path> newDirectoryStream(Path dir, DirectoryStream.Filter<? super Path> filter) throws IOException {
+        Iterator<Path> iterator = _fileSystem.getChildren(checkPath(dir)).stream().filter(child -> {
+            try {
+                return filter == null || filter.accept(child);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).iterator();
+
+        return new DirectoryStream<>() {
+            private boolean _iteratorReturned;
+
+            @Override
+            public Iterator<Path> iterator() {
+                if (_iteratorReturned)
+                    throw new IllegalStateException("Iterator already obtained");
+                _iteratorReturned = true;
+                return iterator;
+            }
+
+            @Override
+            public void close() {
+                // nothing to close
+            }
+        };
+    }
+
+    @Override
+    public void createDirectory(Path dir, FileAttribute<?>... attrs) {
+        throw new ReadOnlyFileSystemException();
+    }
+
+    @Override
+    public void delete(Path path) {
+        throw new ReadOnlyFileSystemException();
+    }
+
+    @Override
+    public void copy(Path source, Path target, CopyOption... options) {
+        throw new ReadOnlyFileSystemException();
+    }
+
+    @Override
+    public void move(Path source, Path target, CopyOption... options) {
+        throw new ReadOnlyFileSystemException();
+    }
+
+    @Override
+    public boolean isSameFile(Path path, Path path2) throws IOException {
+        ZipSecurePath p1 = checkPath(path);
+        if (!(path2 instanceof ZipSecurePath p2) || p2.getFileSystem() != _fileSystem)
+            return false;
+        return p1.toAbsolutePath().normalize().equals(p2.toAbsolutePath().normalize());
+    }
+
+    @Override
+    public boolean isHidden(Path path) {
+        return false;
+    }
+
+    @Override
+    public FileStore getFileStore(Path path) {
+        checkPath(path);
+        return _fileSystem.getFileStore();
+    }
+
+    @Override
+    public void checkAccess(Path path, AccessMode... modes) throws IOException {
+        _fileSystem.readAttributes(checkPath(path));
+        for (AccessMode mode : modes)
+            if (mode != AccessMode.READ)
+                throw new AccessDeniedException(path.toString());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V extends FileAttributeView> V getFileAttributeView(Path path, Class<V> type, LinkOption... options) {
+        ZipSecurePath p = checkPath(path);
+        if (type != BasicFileAttributeView.class)
+            return null;
+
+        return (V)new BasicFileAttributeView() {
+            @Override
+            public String name() {
+                return "basic";
+            }
+
+            @Override
+            public BasicFileAttributes readAttributes() throws IOException {
+                return _fileSystem.readAttributes(p);
+            }
+
+            @Override
+            public void setTimes(FileTime lastModifiedTime, FileTime lastAccessTime, FileTime createTime) {
+                throw new ReadOnlyFileSystemException();
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <A extends BasicFileAttributes> A readAttributes(Path path, Class<A> type, LinkOption... options) throws IOException {
+        if (!type.isAssignableFrom(ZipSecureFileAttributes.class))
+            throw new UnsupportedOperationException("Attributes of type '" + type.getName() + "' are not supported");
+        return (A)_fileSystem.readAttributes(checkPath(path));
+    }
+
+    @Override
+    public Map<String, Object> readAttributes(Path path, String attributes, LinkOption... options) throws IOException {
+        String names = attributes;
+        int idx = names.indexOf(':');
+        if (idx >= 0) {
+            if (!names.substring(0, idx).equals("basic"))
+                throw new UnsupportedOperationException("View '" + names.substring(0, idx) + "' is not supported");
+            names = names.substring(idx + 1);
+        }
+
+        ZipSecureFileAttributes attrs = _fileSystem.readAttributes(checkPath(path));
+        Map<String, Object> all = new HashMap<>();
+        all.put("lastModifiedTime", attrs.lastModifiedTime());
+        all.put("lastAccessTime", attrs.lastAccessTime());
+        all.put("creationTime", attrs.creationTime());
+        all.put("size", attrs.size());
+        all.put("isRegularFile", attrs.isRegularFile());
+        all.put("isDirectory", attrs.isDirectory());
+        all.put("isSymbolicLink", attrs.isSymbolicLink());
+        all.put("isOther", attrs.isOther());
+        all.put("fileKey", attrs.fileKey());
+
+        if (names.equals("*"))
+            return all;
+
+        Map<String, Object> result = new HashMap<>();
+        for (String name : names.split(",")) {
+            if (!all.containsKey(name))
+                throw new IllegalArgumentException("Attribute '" + name + "' is not supported");
+            result.put(name, all.get(name));
+        }
+        return result;
+    }
+
+    @Override
+    public void setAttribute(Path path, String attribute, Object value, LinkOption... options) {
+        throw new ReadOnlyFileSystemException();
+    }
+
+    /**
+     * A read-only channel on the (guarded) data of an entry; moving the position backward re-opens the entry.
+     */
+    private static final class EntryChannel implements SeekableByteChannel {
+
+        private final ZipSecureFileSystem _fileSystem;
+
+        private final ZipArchiveEntry _entry;
+
+        private InputStream _is;
+
+        private long _position;
+
+        private boolean _open = true;
+
+        private EntryChannel(ZipSecureFileSystem fileSystem, ZipArchiveEntry entry) throws IOException {
+            _fileSystem = fileSystem;
+            _entry = entry;
+            _is = fileSystem.getInputStream(entry);
+        }
+
+        @Override
+        public synchronized int read(ByteBuffer dst) throws IOException {
+            if (!_open)
+                throw new ClosedChannelException();
+            if (!dst.hasRemaining())
+                return 0;
+
+            int n;
+            if (dst.hasArray()) {
+                n = _is.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+                if (n > 0)
+                    dst.position(dst.position() + n);
+            }
+            else {
+                byte[] buf = new byte[Math.min(dst.remaining(), 8192)];
+                n = _is.read(buf);
+                if (n > 0)
+                    dst.put(buf, 0, n);
+            }
+            if (n > 0)
+                _position += n;
+            return n;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public synchronized long position() throws IOException {
+            if (!_open)
+                throw new ClosedChannelException();
+            return _position;
+        }
+
+        @Override
+        public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+            if (!_open)
+                throw new ClosedChannelException();
+            if (newPosition < 0)
+                throw new IllegalArgumentException("Position must be non-negative");
+
+            if (newPosition < _position) {
+                _is.close();
+                _is = _fileSystem.getInputStream(_entry);
+                _position = 0;
+            }
+            if (newPosition > _position) {
+                long skipped = ZipArchiveThresholdInputStream.skipFully(_is, newPosition - _position);
+                _position += Math.max(0, skipped);
+            }
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            if (!_open)
+                throw new ClosedChannelException();
+            return Math.max(0, _entry.getSize());
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public synchronized boolean isOpen() {
+            return _open;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (_open) {
+                _open = false;
+                _is.close();
+            }
+        }
+    }
+}
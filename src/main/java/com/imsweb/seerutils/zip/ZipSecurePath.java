@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.zip;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * A {@link Path} inside a {@link ZipSecureFileSystem}; the name separator is always '/'.
+ */
+public class ZipSecurePath implements Path {
+
+    private final ZipSecureFileSystem _fileSystem;
+
+    // the path, never ends with a separator (except for the root) and never contains consecutive separators
+    private final String _path;
+
+    ZipSecurePath(ZipSecureFileSystem fileSystem, String path) {
+        _fileSystem = fileSystem;
+        _path = cleanPath(path);
+    }
+
+    private static String cleanPath(String path) {
+        StringBuilder buf = new StringBuilder(path.length());
+        char previous = 0;
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '\\')
+                c = '/';
+            if (c != '/' || previous != '/')
+                buf.append(c);
+            previous = c;
+        }
+        if (buf.length() > 1 && buf.charAt(buf.length() - 1) == '/')
+            buf.setLength(buf.length() - 1);
+        return buf.toString();
+    }
+
+    String getPathString() {
+        return _path;
+    }
+
+    private String[] getNames() {
+        if (_path.isEmpty())
+            return new String[] {""};
+        return StringUtils.split(_path, '/');
+    }
+
+    private ZipSecurePath checkPath(Path path) {
+        if (path == null)
+            throw new NullPointerException();
+        if (!(path instanceof ZipSecurePath p) || p._fileSystem != _fileSystem)
+            throw new ProviderMismatchException();
+        return p;
+    }
+
+    @Override
+    public ZipSecureFileSystem getFileSystem() {
+        return _fileSystem;
+    }
+
+    @Override
+    public boolean isAbsolute() {
+        return _path.startsWith("/");
+    }
+
+    @Override
+    public Path getRoot() {
+        return isAbsolute() ? new ZipSecurePath(_fileSystem, "/") : null;
+    }
+
+    @Override
+    public Path getFileName() {
+        if (_path.isEmpty())
+            return this;
+        if (_path.equals("/"))
+            return null;
+        return new ZipSecurePath(_fileSystem, _path.substring(_path.lastIndexOf('/') + 1));
+    }
+
+    @Override
+    public Path getParent() {
+        int idx = _path.lastIndexOf('/');
+        if (idx < 0 || _path.equals("/"))
+            return null;
+        return new ZipSecurePath(_fileSystem, idx == 0 ? "/" : _path.substring(0, idx));
+    }
+
+    @Override
+    public int getNameCount() {
+        return getNames().length;
+    }
+
+    @Override
+    public Path getName(int index) {
+        String[] names = getNames();
+        if (index < 0 || index >= names.length)
+            throw new IllegalArgumentException("Invalid index: " + index);
+        return new ZipSecurePath(_fileSystem, names[index]);
+    }
+
+    @Override
+    public Path subpath(int beginIndex, int endIndex) {
+        String[] names = getNames();
+        if (beginIndex < 0 || beginIndex >= names.length || endIndex > names.length || beginIndex >= endIndex)
+            throw new IllegalArgumentException("Invalid indexes: " + beginIndex + ", " + endIndex);
+        return new ZipSecurePath(_fileSystem, String.join("/", List.of(names).subList(beginIndex, endIndex)));
+    }
+
+    @Override
+    public boolean startsWith(Path other) {
+        if (!(other instanceof ZipSecurePath p) || p._fileSystem != _fileSystem || p.isAbsolute() != isAbsolute())
+            return false;
+        if (p._path.equals("/") || p._path.equals(_path))
+            return true;
+        return !p._path.isEmpty() && _path.startsWith(p._path + "/");
+    }
+
+    @Override
+    public boolean endsWith(Path other) {
+        if (!(other instanceof ZipSecurePath p) || p._fileSystem != _fileSystem)
+            return false;
+        if (p.isAbsolute())
+            return p._path.equals(_path);
+        if (p._path.isEmpty())
+            return _path.isEmpty();
+        return _path.equals(p._path) || _path.endsWith("/" + p._path);
+    }
+
+    @Override
+    public Path normalize() {
+        Deque<String> names = new ArrayDeque<>();
+        for (String name : getNames()) {
+            if (name.equals(".") || name.isEmpty())
+                continue;
+            if (name.equals("..") && !names.isEmpty() && !names.peekLast().equals(".."))
+                names.removeLast();
+            else if (!name.equals("..") || !isAbsolute())
+                names.addLast(name);
+        }
+        return new ZipSecurePath(_fileSystem, (isAbsolute() ? "/" : "") + String.join("/", names));
+    }
+
+    @Override
+    public Path resolve(Path other) {
+        ZipSecurePath p = checkPath(other);
+        if (p.isAbsolute() || _path.isEmpty())
+            return p;
+        if (p._path.isEmpty())
+            return this;
+        return new ZipSecurePath(_fileSystem, _path.equals("/") ? ("/" + p._path) : (_path + "/" + p._path));
+    }
+
+    @Override
+    public Path relativize(Path other) {
+        ZipSecurePath p = checkPath(other);
+        if (p.isAbsolute() != isAbsolute())
+            throw new IllegalArgumentException("Both paths must be absolute or relative");
+
+        String[] names = _path.isEmpty() || _path.equals("/") ? new String[0] : getNames();
+        String[] otherNames = p._path.isEmpty() || p._path.equals("/") ? new String[0] : p.getNames();
+        int common = 0;
+        while (common < names.length && common < otherNames.length && names[common].equals(otherNames[common]))
+            common++;
+
+        List<String> result = new ArrayList<>();
+        for (int i = common; i < names.length; i++)
+            result.add("..");
+        result.addAll(List.of(otherNames).subList(common, otherNames.length));
+        return new ZipSecurePath(_fileSystem, String.join("/", result));
+    }
+
+    @Override
+    public URI toUri() {
+        try {
+            return new URI(ZipSecureFileSystemProvider.SCHEME, _fileSystem.getZipFile().toURI() + "!" + toAbsolutePath(), null);
+        }
+        catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public ZipSecurePath toAbsolutePath() {
+        if (isAbsolute())
+            return this;
+        return new ZipSecurePath(_fileSystem, "/" + _path);
+    }
+
+    @Override
+    public Path toRealPath(LinkOption... options) throws IOException {
+        ZipSecurePath path = (ZipSecurePath)toAbsolutePath().normalize();
+        if (!_fileSystem.exists(path))
+            throw new NoSuchFileException(toString());
+        return path;
+    }
+
+    @Override
+    public WatchKey register(WatchService watcher, WatchEvent.Kind<?>[] events, WatchEvent.Modifier... modifiers) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int compareTo(Path other) {
+        return _path.compareTo(checkPath(other)._path);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ZipSecurePath p))
+            return false;
+        return _fileSystem == p._fileSystem && _path.equals(p._path);
+    }
+
+    @Override
+    public int hashCode() {
+        return _path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return _path;
+    }
+}
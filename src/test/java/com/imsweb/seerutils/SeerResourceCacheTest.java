@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SeerResourceCacheTest {
+
+    private static File createResources() throws IOException {
+        File dir = new File(System.getProperty("user.dir") + "/build/test-data/resources");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(new File(dir, "tables").mkdirs());
+
+        for (int i = 0; i < 5; i++) {
+            String content = ("TABLE " + i + "\n").repeat(1000);
+            try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(new File(dir, "tables/table" + i + ".csv.gz").toPath()))) {
+                os.write(content.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+        SeerUtils.writeFile("PLAIN", new File(dir, "tables/plain.txt"));
+
+        return dir;
+    }
+
+    @Test
+    public void testResourceCache() throws IOException {
+        File dir = createResources();
+        int tableSize = "TABLE 0\n".length() * 1000;
+
+        // room for 3 tables
+        SeerResourceCache cache = new SeerResourceCache(3L * tableSize);
+        URL url0 = new File(dir, "tables/table0.csv.gz").toURI().toURL();
+        ByteBuffer buffer = cache.getBuffer(url0);
+        Assert.assertEquals(tableSize, buffer.remaining());
+        Assert.assertTrue(buffer.isReadOnly());
+        Assert.assertThrows(ReadOnlyBufferException.class, () -> buffer.put(0, (byte)0));
+        Assert.assertEquals(1, cache.getNumMisses());
+
+        // the views are independent, and the content is shared
+        ByteBuffer buffer2 = cache.getBuffer(url0);
+        buffer2.position(10);
+        Assert.assertEquals(0, cache.getBuffer(url0).position());
+        try (InputStream is = cache.getInputStream(url0)) {
+            Assert.assertEquals(("TABLE 0\n").repeat(1000), new String(is.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+        Assert.assertEquals(1, cache.getNumMisses());
+        Assert.assertEquals(3, cache.getNumHits());
+
+        // the least recently used tables are evicted
+        for (int i = 1; i < 4; i++)
+            cache.getBuffer(new File(dir, "tables/table" + i + ".csv.gz").toURI().toURL());
+        Assert.assertEquals(3L * tableSize, cache.getSize());
+        Assert.assertFalse(cache.isCached(url0));
+        Assert.assertTrue(cache.isCached(new File(dir, "tables/table3.csv.gz").toURI().toURL()));
+
+        // a resource larger than the budget is not cached
+        SeerResourceCache smallCache = new SeerResourceCache(10);
+        Assert.assertEquals(tableSize, smallCache.getBuffer(url0).remaining());
+        Assert.assertEquals(0, smallCache.getSize());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.getSize());
+        Assert.assertThrows(IOException.class, () -> cache.getBuffer(new File(dir, "missing.txt").toURI().toURL()));
+
+        // the resource stream is closed even if its content can't be decompressed
+        AtomicBoolean closed = new AtomicBoolean();
+        URL zipUrl = URL.of(URI.create("test:/table.zip"), new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL u) {
+                return new URLConnection(u) {
+                    @Override
+                    public void connect() {
+                        // nothing to connect to
+                    }
+
+                    @Override
+                    public InputStream getInputStream() {
+                        return new ByteArrayInputStream(new byte[] {'P', 'K', 3, 4, 0, 0, 0, 0, 0, 0}) {
+                            @Override
+                            public void close() {
+                                closed.set(true);
+                            }
+                        };
+                    }
+                };
+            }
+        });
+        Assert.assertThrows(IOException.class, () -> cache.getBuffer(zipUrl));
+        Assert.assertTrue(closed.get());
+    }
+
+    @Test
+    public void testResourceCacheWarmup() throws IOException {
+        File dir = createResources();
+
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {dir.toURI().toURL()}, null)) {
+            Thread.currentThread().setContextClassLoader(loader);
+
+            SeerResourceCache cache = new SeerResourceCache(SeerResourceCache.DEFAULT_MAX_SIZE);
+            cache.warmup(Arrays.asList("tables/table0.csv.gz", "tables/table1.csv.gz", "tables/table2.csv.gz", "tables/plain.txt"), 4);
+            Assert.assertEquals(4, cache.getNumMisses());
+            Assert.assertEquals("PLAIN", StandardCharsets.US_ASCII.decode(cache.getBuffer("tables/plain.txt")).toString());
+            Assert.assertEquals(4, cache.getNumMisses());
+
+            IOException e = Assert.assertThrows(IOException.class, () -> cache.warmup(Arrays.asList("missing.txt", "tables/table3.csv.gz"), 2));
+            Assert.assertTrue(e.getMessage().contains("missing.txt"));
+            Assert.assertTrue(cache.isCached(loader.getResource("tables/table3.csv.gz")));
+            Assert.assertThrows(IOException.class, () -> cache.warmup(Collections.singletonList("missing.txt"), 1));
+        }
+        finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+
+        Assert.assertNotNull(SeerResourceCache.getInstance());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class SeerUrlCacheTest {
+
+    private HttpServer _server;
+
+    private final AtomicReference<String> _content = new AtomicReference<>("CONTENT 1");
+
+    private final AtomicInteger _numRequests = new AtomicInteger();
+
+    private final AtomicReference<String> _lastAcceptEncoding = new AtomicReference<>();
+
+    @Before
+    public void startServer() throws IOException {
+        _server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+        // the ETag is the content itself; a GZipped response is sent when requested
+        _server.createContext("/etag", exchange -> {
+            _numRequests.incrementAndGet();
+            _lastAcceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            String etag = "\"" + _content.get().hashCode() + "\"";
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match")))
+                send(exchange, 304, null);
+            else {
+                exchange.getResponseHeaders().set("ETag", etag);
+                send(exchange, 200, _content.get().getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        // the last modified date never changes
+        _server.createContext("/modified", exchange -> {
+            _numRequests.incrementAndGet();
+            String lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+            if (lastModified.equals(exchange.getRequestHeaders().getFirst("If-Modified-Since")))
+                send(exchange, 304, null);
+            else {
+                exchange.getResponseHeaders().set("Last-Modified", lastModified);
+                send(exchange, 200, "MODIFIED".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        _server.createContext("/missing", exchange -> send(exchange, 404, null));
+        _server.start();
+    }
+
+    @After
+    public void stopServer() {
+        _server.stop(0);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] content) throws IOException {
+        if (content == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (OutputStream os = new GZIPOutputStream(bytes)) {
+                os.write(content);
+            }
+            content = bytes.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(content);
+        }
+    }
+
+    private URL getUrl(String path) throws IOException {
+        return URI.create("http://" + _server.getAddress().getHostString() + ":" + _server.getAddress().getPort() + path).toURL();
+    }
+
+    @Test
+    public void testMemoryCache() throws IOException {
+        try (SeerUrlCache cache = new SeerUrlCache()) {
+            Assert.assertEquals("CONTENT 1", SeerUtils.readUrl(getUrl("/etag"), "UTF-8", cache));
+            Assert.assertEquals("gzip", _lastAcceptEncoding.get());
+            Assert.assertEquals("CONTENT 1", cache.readUrl(getUrl("/etag"), "UTF-8"));
+            Assert.assertEquals(1, cache.getNumDownloads());
+            Assert.assertEquals(1, cache.getNumRevalidations());
+
+            // a change on the server is detected
+            _content.set("CONTENT 2");
+            Assert.assertEquals("CONTENT 2", cache.readUrl(getUrl("/etag"), "UTF-8"));
+            Assert.assertEquals(2, cache.getNumDownloads());
+
+            // fresh content is served without any request
+            cache.setRevalidateAfter(Duration.ofHours(1));
+            int numRequests = _numRequests.get();
+            Assert.assertEquals("CONTENT 2", cache.readUrl(getUrl("/etag"), "UTF-8"));
+            Assert.assertEquals(numRequests, _numRequests.get());
+            Assert.assertEquals(1, cache.getNumHits());
+
+            // last modified validator
+            Assert.assertEquals("MODIFIED", cache.readUrl(getUrl("/modified"), "UTF-8"));
+            cache.setRevalidateAfter(Duration.ZERO);
+            Assert.assertEquals("MODIFIED", cache.readUrl(getUrl("/modified"), "UTF-8"));
+            Assert.assertEquals(2, cache.getNumRevalidations());
+
+            // without GZip
+            cache.setRequestGzip(false);
+            _content.set("CONTENT 3");
+            Assert.assertEquals("CONTENT 3", cache.readUrl(getUrl("/etag"), "UTF-8"));
+            Assert.assertNull(_lastAcceptEncoding.get());
+
+            Assert.assertThrows(IOException.class, () -> cache.readUrl(getUrl("/missing"), "UTF-8"));
+        }
+    }
+
+    @Test
+    public void testDiskCache() throws IOException {
+        File dir = new File(System.getProperty("user.dir") + "/build/test-data/url-cache");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+
+        try (SeerUrlCache cache = new SeerUrlCache(dir, 10)) {
+            Assert.assertEquals("CONTENT 1", cache.readUrl(getUrl("/etag"), "UTF-8"));
+            Assert.assertEquals(1, cache.getNumDownloads());
+        }
+
+        // a new instance only needs to revalidate the content
+        try (SeerUrlCache cache = new SeerUrlCache(dir, 10)) {
+            Assert.assertEquals("CONTENT 1", cache.readUrl(getUrl("/etag"), "UTF-8"));
+            Assert.assertEquals(0, cache.getNumDownloads());
+            Assert.assertEquals(1, cache.getNumRevalidations());
+
+            cache.clear();
+            Assert.assertEquals("CONTENT 1", cache.readUrl(getUrl("/etag"), "UTF-8"));
+            Assert.assertEquals(1, cache.getNumDownloads());
+        }
+
+        // other protocols are read directly
+        File file = new File(dir, "file.txt");
+        SeerUtils.writeFile("FILE", file);
+        try (SeerUrlCache cache = new SeerUrlCache()) {
+            Assert.assertEquals("FILE", cache.readUrl(file.toURI().toURL(), null));
+        }
+    }
+}
@@ -3,25 +3,71 @@
  */
 package com.imsweb.seerutils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.LineNumberReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.imsweb.seerutils.io.CancellationToken;
+import com.imsweb.seerutils.io.DirectoryCopyOptions;
+import com.imsweb.seerutils.io.DirectoryOperationException;
+import com.imsweb.seerutils.io.DirectorySyncOptions;
+import com.imsweb.seerutils.io.DirectorySyncReport;
+import com.imsweb.seerutils.io.FileProfile;
+import com.imsweb.seerutils.io.FileWriteOptions;
+import com.imsweb.seerutils.io.RateLimiter;
+import com.imsweb.seerutils.zip.ZipSecureFile;
+
 public class SeerUtilsTest {
 
     @Test
@@ -113,6 +159,35 @@ public class SeerUtilsTest {
         Assert.assertFalse(SeerUtils.isPureAscii(new byte[] {127}, null)); // control
         Assert.assertTrue(SeerUtils.isPureAscii(new byte[] {97, 98, 99, 16}, new byte[] {16})); // last byte is control, but an exception was added...
         Assert.assertTrue(SeerUtils.isPureAscii(new byte[] {31, 97, 31, 98, 30, 99, 30}, new byte[] {30, 31})); // some bytes are control, but an exception was added...
+        Assert.assertTrue(SeerUtils.isPureAscii(new byte[] {97, -23}, new byte[] {-23})); // non-ASCII byte, but an exception was added...
+
+        // non-ASCII characters are not turned into '?' anymore
+        Assert.assertFalse(SeerUtils.isPureAscii("\u00e9t\u00e9"));
+        Assert.assertFalse(SeerUtils.isPureAscii(new StringBuilder("abc\u0000")));
+        Assert.assertTrue(SeerUtils.isPureAscii(new StringBuilder("abc")));
+
+        // index of the first violation, at every position of arrays long enough to use the word-at-a-time checks
+        byte[] bytes = "The quick brown fox\tjumps over the lazy dog\r\n".getBytes(StandardCharsets.US_ASCII);
+        Assert.assertEquals(-1, SeerUtils.indexOfNonAscii(bytes, 0, bytes.length, null));
+        Assert.assertTrue(SeerUtils.isPureAscii(ByteBuffer.wrap(bytes)));
+        Assert.assertTrue(SeerUtils.isPureAscii(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip()));
+        for (byte invalid : new byte[] {0, 8, 11, 31, 127, -128, -1}) {
+            for (int i = 0; i < bytes.length; i++) {
+                byte[] copy = bytes.clone();
+                copy[i] = invalid;
+                if (i + 1 < copy.length)
+                    copy[i + 1] = invalid;
+                Assert.assertEquals(i, SeerUtils.indexOfNonAscii(copy, 0, copy.length, null));
+                Assert.assertEquals(-1, SeerUtils.indexOfNonAscii(copy, 0, copy.length, new byte[] {invalid}));
+                Assert.assertEquals(i, SeerUtils.indexOfNonAscii(ByteBuffer.wrap(copy), null));
+                Assert.assertEquals(i, SeerUtils.indexOfNonAscii(ByteBuffer.allocateDirect(copy.length).put(copy).flip(), null));
+                Assert.assertEquals(i, SeerUtils.indexOfNonAscii(new String(copy, StandardCharsets.ISO_8859_1), null));
+            }
+        }
+        Assert.assertEquals(-1, SeerUtils.indexOfNonAscii(new byte[] {0, 97, 98, 0}, 1, 3, null));
+        Assert.assertEquals(3, SeerUtils.indexOfNonAscii(ByteBuffer.wrap(new byte[] {0, 97, 98, 0}, 1, 3), null));
+        Assert.assertEquals(3, SeerUtils.indexOfNonAscii(ByteBuffer.wrap(new byte[] {0, 97, 98, 99, 0}, 1, 4).slice(), null));
+        Assert.assertEquals(3, SeerUtils.indexOfNonAscii("abc\u20ac", new byte[] {(byte)0xAC}));
     }
 
     @Test
@@ -236,6 +311,75 @@ public class SeerUtilsTest {
         SeerUtils.deleteDirectory(tempDir);
     }
 
+    @Test
+    public void testCopyInputStreamToOutputStream() throws IOException {
+        File dir = getTestingDirectory();
+        byte[] data = new byte[3 * 1024 * 1024 + 11];
+        new Random(7).nextBytes(data);
+        File source = new File(dir, "copy-source.bin");
+        Files.write(source.toPath(), data);
+        File target = new File(dir, "copy-target.bin");
+
+        // file streams (channel transfer)
+        SeerUtils.copyInputStreamToOutputStream(new FileInputStream(source), new FileOutputStream(target));
+        Assert.assertArrayEquals(data, Files.readAllBytes(target.toPath()));
+
+        // the transfer goes through the channels, the streams themselves are never read or written
+        try (FileInputStream fis = new FileInputStream(source) {
+            @Override
+            public int read(byte[] b, int off, int len) {
+                throw new IllegalStateException("Stream should not be read");
+            }
+        }) {
+            SeerUtils.copyInputStreamToOutputStream(fis, new FileOutputStream(target) {
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    throw new IllegalStateException("Stream should not be written");
+                }
+            });
+        }
+        Assert.assertArrayEquals(data, Files.readAllBytes(target.toPath()));
+
+        // other file streams (buffer copy)
+        SeerUtils.copyInputStreamToOutputStream(Files.newInputStream(source.toPath()), Files.newOutputStream(target.toPath()));
+        Assert.assertArrayEquals(data, Files.readAllBytes(target.toPath()));
+        SeerUtils.copyInputStreamToOutputStream(new FileInputStream(source), Files.newOutputStream(target.toPath()));
+        Assert.assertArrayEquals(data, Files.readAllBytes(target.toPath()));
+
+        // the current positions of the streams are respected
+        try (InputStream is = new FileInputStream(source)) {
+            Assert.assertEquals(1000, is.skip(1000));
+            Files.write(target.toPath(), new byte[] {1, 2, 3});
+            SeerUtils.copyInputStreamToOutputStream(is, new FileOutputStream(target, true));
+        }
+        byte[] copied = Files.readAllBytes(target.toPath());
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, Arrays.copyOf(copied, 3));
+        Assert.assertArrayEquals(Arrays.copyOfRange(data, 1000, data.length), Arrays.copyOfRange(copied, 3, copied.length));
+
+        // other streams (buffer copy)
+        SeerUtils.copyInputStreamToOutputStream(new ByteArrayInputStream(data), Files.newOutputStream(target.toPath()));
+        Assert.assertArrayEquals(data, Files.readAllBytes(target.toPath()));
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        SeerUtils.copyInputStreamToOutputStream(Files.newInputStream(source.toPath()), result);
+        Assert.assertArrayEquals(data, result.toByteArray());
+
+        // file to socket channel (buffer copy)
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            Future<byte[]> received = executor.submit(() -> {
+                try (SocketChannel channel = server.accept()) {
+                    return Channels.newInputStream(channel).readAllBytes();
+                }
+            });
+            SeerUtils.copyInputStreamToOutputStream(new FileInputStream(source), Channels.newOutputStream(SocketChannel.open(server.getLocalAddress())));
+            Assert.assertArrayEquals(data, received.get());
+            executor.shutdown();
+        }
+        catch (InterruptedException | ExecutionException e) {
+            throw new IOException(e);
+        }
+    }
+
     @Test
     public void testCopyDirectory() throws IOException {
         File dir = new File(getTestingDirectory(), "test-source");
@@ -260,6 +404,303 @@ public class SeerUtilsTest {
         Assert.assertEquals("TEST3", SeerUtils.readFile(new File(newSubDir2, "test3.txt")));
     }
 
+    @Test
+    public void testCopyDirectoryParallel() throws IOException {
+        File dir = new File(getTestingDirectory(), "test-parallel-source");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        for (int i = 0; i < 5; i++) {
+            File subDir = new File(dir, "dir" + i + "/sub");
+            Assert.assertTrue(subDir.mkdirs());
+            for (int j = 0; j < 40; j++) {
+                File file = new File(j % 2 == 0 ? subDir : subDir.getParentFile(), "file" + j + ".txt");
+                SeerUtils.writeFile("FILE " + i + "-" + j, file);
+                Assert.assertTrue(file.setLastModified(1000000000000L + j * 1000L));
+            }
+        }
+        Assert.assertTrue(new File(dir, "empty").mkdir());
+
+        File newDir = new File(getTestingDirectory(), "test-parallel-target");
+        if (newDir.exists())
+            FileUtils.deleteDirectory(newDir);
+        DirectoryCopyOptions options = new DirectoryCopyOptions();
+        options.setNumThreads(4);
+        options.setPreserveAttributes(true);
+        SeerUtils.copyDirectory(dir, newDir, options);
+        Assert.assertTrue(new File(newDir, "empty").isDirectory());
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 40; j++) {
+                File file = new File(newDir, "dir" + i + (j % 2 == 0 ? "/sub" : "") + "/file" + j + ".txt");
+                Assert.assertEquals("FILE " + i + "-" + j, SeerUtils.readFile(file));
+                Assert.assertEquals(1000000000000L + j * 1000L, file.lastModified());
+            }
+        }
+
+        // a target file that can't be replaced (a non-empty directory); the other files are still copied if requested
+        FileUtils.deleteDirectory(newDir);
+        Assert.assertTrue(new File(newDir, "dir1/file1.txt/blocker").mkdirs());
+        options.setContinueOnError(true);
+        try {
+            SeerUtils.copyDirectory(dir, newDir, options);
+            Assert.fail("Should have failed");
+        }
+        catch (DirectoryOperationException e) {
+            Assert.assertEquals(1, e.getFailures().size());
+
+            // the failures survive the serialization of the exception
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                oos.writeObject(e);
+            }
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                DirectoryOperationException copy = (DirectoryOperationException)ois.readObject();
+                Assert.assertEquals(e.getMessage(), copy.getMessage());
+                Assert.assertEquals(1, copy.getFailures().size());
+                Assert.assertThrows(UnsupportedOperationException.class, () -> copy.getFailures().clear());
+            }
+            catch (ClassNotFoundException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        Assert.assertEquals("FILE 4-39", SeerUtils.readFile(new File(newDir, "dir4/file39.txt")));
+
+        Assert.assertThrows(IOException.class, () -> SeerUtils.copyDirectory(dir, new File(dir, "dir0/copy"), new DirectoryCopyOptions()));
+    }
+
+    @Test
+    public void testRateLimitedOperations() throws IOException {
+        byte[] data = new byte[256 * 1024];
+        new Random(7).nextBytes(data);
+
+        // 256KB at 1MB/s (with a 64KB burst) should take about 190ms
+        RateLimiter limiter = new RateLimiter(1024 * 1024, 64 * 1024);
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+        SeerUtils.copyInputStreamToOutputStream(new ByteArrayInputStream(data), result, true, limiter);
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150);
+        Assert.assertArrayEquals(data, result.toByteArray());
+
+        File dir = new File(getTestingDirectory(), "test-throttled-source");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(new File(dir, "sub").mkdirs());
+        Files.write(new File(dir, "data.bin").toPath(), data);
+        Files.write(new File(dir, "sub/data.bin").toPath(), data);
+        Assert.assertTrue(new File(dir, "data.bin").setLastModified(1000000000000L));
+
+        // the throttled copy still preserves the attributes
+        File newDir = new File(getTestingDirectory(), "test-throttled-target");
+        if (newDir.exists())
+            FileUtils.deleteDirectory(newDir);
+        DirectoryCopyOptions options = new DirectoryCopyOptions();
+        options.setPreserveAttributes(true);
+        options.setRateLimiter(new RateLimiter(10 * 1024 * 1024));
+        SeerUtils.copyDirectory(dir, newDir, options);
+        Assert.assertArrayEquals(data, Files.readAllBytes(new File(newDir, "sub/data.bin").toPath()));
+        Assert.assertEquals(1000000000000L, new File(newDir, "data.bin").lastModified());
+
+        // zip and unzip
+        File zip = new File(getTestingDirectory(), "test-throttled.zip");
+        SeerUtils.zipFile(dir, zip, new RateLimiter(10 * 1024 * 1024));
+        File unzipDir = new File(getTestingDirectory(), "test-throttled-unzip");
+        if (unzipDir.exists())
+            FileUtils.deleteDirectory(unzipDir);
+        SeerUtils.unzipFile(zip, unzipDir, null, 2, new RateLimiter(10 * 1024 * 1024));
+        Assert.assertArrayEquals(data, Files.readAllBytes(new File(unzipDir, "test-throttled-source/sub/data.bin").toPath()));
+    }
+
+    @Test
+    public void testCancelledOperations() throws IOException {
+        byte[] data = new byte[256 * 1024];
+        new Random(7).nextBytes(data);
+        File dir = new File(getTestingDirectory(), "test-cancel-source");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(new File(dir, "dir" + i).mkdirs());
+            Files.write(new File(dir, "dir" + i + "/data.bin").toPath(), data);
+        }
+
+        // the deadline is reached in the middle of the (throttled) copy, the created target is removed
+        File newDir = new File(getTestingDirectory(), "test-cancel-target");
+        if (newDir.exists())
+            FileUtils.deleteDirectory(newDir);
+        DirectoryCopyOptions options = new DirectoryCopyOptions();
+        options.setNumThreads(2);
+        options.setRateLimiter(new RateLimiter(1024 * 1024, 64 * 1024));
+        options.setCancellationToken(CancellationToken.withTimeout(Duration.ofMillis(200)));
+        long start = System.nanoTime();
+        Assert.assertThrows(InterruptedIOException.class, () -> SeerUtils.copyDirectory(dir, newDir, options));
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        Assert.assertFalse(newDir.exists());
+
+        // an existing target is kept, but the partial files are removed
+        Assert.assertTrue(newDir.mkdir());
+        options.setCancellationToken(CancellationToken.withTimeout(Duration.ofMillis(200)));
+        Assert.assertThrows(InterruptedIOException.class, () -> SeerUtils.copyDirectory(dir, newDir, options));
+        Assert.assertTrue(newDir.exists());
+        try (Stream<Path> files = Files.walk(newDir.toPath())) {
+            files.filter(Files::isRegularFile).forEach(f -> Assert.assertEquals(data.length, f.toFile().length()));
+        }
+
+        // zip
+        File zip = new File(getTestingDirectory(), "test-cancel.zip");
+        SeerUtils.zipFiles(Collections.singletonList(dir), zip, null, new CancellationToken());
+        CancellationToken cancelled = new CancellationToken();
+        cancelled.cancel();
+        File cancelledZip = new File(getTestingDirectory(), "test-cancel-2.zip");
+        Assert.assertThrows(InterruptedIOException.class, () -> SeerUtils.zipFiles(Collections.singletonList(dir), cancelledZip, null, cancelled));
+        Assert.assertFalse(cancelledZip.exists());
+
+        // unzip
+        File unzipDir = new File(getTestingDirectory(), "test-cancel-unzip");
+        if (unzipDir.exists())
+            FileUtils.deleteDirectory(unzipDir);
+        Assert.assertThrows(InterruptedIOException.class, () -> SeerUtils.unzipFile(zip, unzipDir, null, 2, null, cancelled));
+        Assert.assertFalse(unzipDir.exists());
+        Assert.assertTrue(unzipDir.mkdir());
+        Assert.assertThrows(InterruptedIOException.class, () -> SeerUtils.unzipFile(zip, unzipDir, null, 2, new RateLimiter(1024 * 1024, 64 * 1024),
+                CancellationToken.withTimeout(Duration.ofMillis(200))));
+        Assert.assertTrue(unzipDir.exists());
+        try (Stream<Path> files = Files.walk(unzipDir.toPath())) {
+            Assert.assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+
+        // zip-bomb check (it doesn't accept empty entries, so the directories can't be included)
+        File flatZip = new File(getTestingDirectory(), "test-cancel-flat.zip");
+        SeerUtils.zipFile(new File(dir, "dir0/data.bin"), flatZip);
+        Assert.assertFalse(ZipSecureFile.isZipBomb(flatZip.toURI().toURL(), 10, new CancellationToken()));
+        Assert.assertThrows(InterruptedIOException.class, () -> ZipSecureFile.isZipBomb(flatZip.toURI().toURL(), 10, cancelled));
+    }
+
+    @Test
+    public void testDeleteDirectory() throws IOException {
+        File outside = new File(getTestingDirectory(), "test-delete-outside");
+        if (outside.exists())
+            FileUtils.deleteDirectory(outside);
+        Assert.assertTrue(outside.mkdir());
+        SeerUtils.writeFile("OUTSIDE", new File(outside, "outside.txt"));
+
+        for (int numThreads : new int[] {1, 8}) {
+            File dir = new File(getTestingDirectory(), "test-delete");
+            if (dir.exists())
+                FileUtils.deleteDirectory(dir);
+            for (int i = 0; i < 10; i++) {
+                File subDir = new File(dir, "dir" + i + "/sub");
+                Assert.assertTrue(subDir.mkdirs());
+                for (int j = 0; j < 20; j++)
+                    SeerUtils.writeFile("FILE", new File(j % 2 == 0 ? subDir : subDir.getParentFile(), "file" + j + ".txt"));
+            }
+            // the links are deleted, not their targets
+            Files.createSymbolicLink(new File(dir, "dir0/link").toPath(), outside.toPath());
+
+            SeerUtils.emptyDirectory(dir, numThreads);
+            Assert.assertTrue(dir.isDirectory());
+            Assert.assertEquals(0, Objects.requireNonNull(dir.list()).length);
+            Assert.assertTrue(new File(outside, "outside.txt").exists());
+
+            SeerUtils.writeFile("FILE", new File(dir, "file.txt"));
+            SeerUtils.deleteDirectory(dir, numThreads);
+            Assert.assertFalse(dir.exists());
+
+            // deleting a missing directory doesn't do anything
+            SeerUtils.deleteDirectory(dir, numThreads);
+
+            // a root that is a link is emptied and kept, or deleted without deleting its target
+            File link = new File(getTestingDirectory(), "test-delete-link");
+            Files.deleteIfExists(link.toPath());
+            Files.createSymbolicLink(link.toPath(), outside.toPath());
+            SeerUtils.emptyDirectory(link, numThreads);
+            Assert.assertTrue(Files.isSymbolicLink(link.toPath()));
+            Assert.assertEquals(0, Objects.requireNonNull(outside.list()).length);
+            SeerUtils.writeFile("OUTSIDE", new File(outside, "outside.txt"));
+            SeerUtils.deleteDirectory(link, numThreads);
+            Assert.assertFalse(Files.exists(link.toPath(), LinkOption.NOFOLLOW_LINKS));
+            Assert.assertTrue(outside.isDirectory());
+            SeerUtils.writeFile("OUTSIDE", new File(outside, "outside.txt"));
+        }
+    }
+
+    @Test
+    public void testSyncDirectory() throws IOException {
+        File dir = new File(getTestingDirectory(), "test-sync-source");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(new File(dir, "sub").mkdirs());
+        for (int i = 0; i < 10; i++)
+            SeerUtils.writeFile("FILE " + i, new File(i % 2 == 0 ? dir : new File(dir, "sub"), "file" + i + ".txt"));
+
+        File newDir = new File(getTestingDirectory(), "test-sync-target");
+        if (newDir.exists())
+            FileUtils.deleteDirectory(newDir);
+
+        DirectorySyncOptions options = new DirectorySyncOptions();
+        DirectorySyncReport report = SeerUtils.syncDirectory(dir, newDir, options);
+        Assert.assertEquals(10, report.getAddedFiles().size());
+        Assert.assertEquals(Paths.get("file0.txt"), report.getAddedFiles().get(0));
+        Assert.assertEquals("FILE 3", SeerUtils.readFile(new File(newDir, "sub/file3.txt")));
+
+        // nothing changed
+        report = SeerUtils.syncDirectory(dir, newDir, options);
+        Assert.assertFalse(report.hasChanges());
+        Assert.assertEquals(10, report.getNumUnchangedFiles());
+
+        // a new file, a modified file, a file modified without changing its size and time, and some extraneous files
+        SeerUtils.writeFile("NEW", new File(dir, "sub/new.txt"));
+        File modified = new File(dir, "file2.txt");
+        SeerUtils.writeFile("MODIFIED", modified);
+        File sneaky = new File(dir, "file4.txt");
+        long time = sneaky.lastModified();
+        SeerUtils.writeFile("FILE X", sneaky);
+        Assert.assertTrue(sneaky.setLastModified(time));
+        SeerUtils.writeFile("EXTRA", new File(newDir, "extra.txt"));
+        Assert.assertTrue(new File(newDir, "extra/sub").mkdirs());
+        SeerUtils.writeFile("EXTRA", new File(newDir, "extra/sub/extra.txt"));
+
+        report = SeerUtils.syncDirectory(dir, newDir, options);
+        Assert.assertEquals(Collections.singletonList(Paths.get("sub/new.txt")), report.getAddedFiles());
+        Assert.assertEquals(Collections.singletonList(Paths.get("file2.txt")), report.getUpdatedFiles());
+        Assert.assertTrue(report.getDeletedFiles().isEmpty());
+        Assert.assertEquals("MODIFIED", SeerUtils.readFile(new File(newDir, "file2.txt")));
+        Assert.assertEquals("FILE 4", SeerUtils.readFile(new File(newDir, "file4.txt")));
+
+        options.setCompareContent(true);
+        options.setDeleteExtraneous(true);
+        options.setNumThreads(1);
+        report = SeerUtils.syncDirectory(dir, newDir, options);
+        Assert.assertEquals(Collections.singletonList(Paths.get("file4.txt")), report.getUpdatedFiles());
+        Assert.assertEquals(Arrays.asList(Paths.get("extra"), Paths.get("extra.txt"), Paths.get("extra/sub"), Paths.get("extra/sub/extra.txt")),
+                report.getDeletedFiles());
+        Assert.assertEquals("FILE X", SeerUtils.readFile(new File(newDir, "file4.txt")));
+        Assert.assertFalse(new File(newDir, "extra").exists());
+        Assert.assertEquals(10, report.getNumUnchangedFiles());
+
+        // a file that can't be deleted doesn't prevent the other extraneous files from being deleted (can't be checked when running as root)
+        File locked = new File(newDir, "locked");
+        Assert.assertTrue(locked.mkdir());
+        SeerUtils.writeFile("EXTRA", new File(locked, "extra.txt"));
+        SeerUtils.writeFile("EXTRA", new File(newDir, "extra1.txt"));
+        SeerUtils.writeFile("EXTRA", new File(newDir, "sub/extra2.txt"));
+        Assert.assertTrue(locked.setWritable(false));
+        try {
+            if (!locked.canWrite()) {
+                try {
+                    SeerUtils.syncDirectory(dir, newDir, options);
+                    Assert.fail("Should have failed");
+                }
+                catch (DirectoryOperationException e) {
+                    Assert.assertEquals(1, e.getFailures().size());
+                }
+                Assert.assertFalse(new File(newDir, "extra1.txt").exists());
+                Assert.assertFalse(new File(newDir, "sub/extra2.txt").exists());
+                Assert.assertTrue(new File(locked, "extra.txt").exists());
+            }
+        }
+        finally {
+            Assert.assertTrue(locked.setWritable(true));
+        }
+    }
+
     @Test
     public void testUnzipFile() throws IOException {
         File dir = new File(getTestingDirectory(), "test-zip");
@@ -279,6 +720,461 @@ public class SeerUtilsTest {
         Assert.assertTrue(targetDir.exists());
     }
 
+    @Test
+    public void testUnzipFileParallel() throws IOException {
+        File dir = new File(getTestingDirectory(), "test-unzip-parallel");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(dir.mkdir());
+        File sourceDir = new File(dir, "source");
+        File subDir = new File(sourceDir, "sub");
+        Assert.assertTrue(subDir.mkdirs());
+        for (int i = 0; i < 20; i++)
+            SeerUtils.writeFile("FILE" + i, new File(i % 2 == 0 ? sourceDir : subDir, "file" + i + ".txt"));
+        File zipFile = new File(dir, "test.zip");
+        SeerUtils.zipFile(sourceDir, zipFile);
+
+        File targetDir = new File(dir, "all");
+        SeerUtils.unzipFile(zipFile, targetDir, null, 4);
+        for (int i = 0; i < 20; i++)
+            Assert.assertEquals("FILE" + i, SeerUtils.readFile(new File(targetDir, "source/" + (i % 2 == 0 ? "" : "sub/") + "file" + i + ".txt")));
+
+        targetDir = new File(dir, "filtered");
+        SeerUtils.unzipFile(zipFile, targetDir, entry -> entry.getName().startsWith("source/sub/"), 4);
+        Assert.assertTrue(new File(targetDir, "source/sub/file1.txt").exists());
+        Assert.assertFalse(new File(targetDir, "source/file0.txt").exists());
+    }
+
+    @Test
+    public void testUpdateZipFile() throws IOException {
+        File dir = new File(getTestingDirectory(), "test-update-zip");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(dir.mkdir());
+
+        File file1 = new File(dir, "file1.txt");
+        SeerUtils.writeFile("FILE1", file1);
+        File file2 = new File(dir, "file2.txt");
+        SeerUtils.writeFile("FILE2", file2);
+        File subDir = new File(dir, "sub");
+        Assert.assertTrue(subDir.mkdir());
+        SeerUtils.writeFile("FILE3", new File(subDir, "file3.txt"));
+
+        File zipFile = new File(dir, "test-update.zip");
+        SeerUtils.zipFiles(Arrays.asList(file1, file2, subDir), zipFile);
+
+        File file4 = new File(dir, "file4.txt");
+        SeerUtils.writeFile("FILE4", file4);
+        File file1Bis = new File(dir, "file1-bis.txt");
+        SeerUtils.writeFile("FILE1-BIS", file1Bis);
+
+        Map<String, File> toAdd = new HashMap<>();
+        toAdd.put("file4.txt", file4);
+        toAdd.put("file1.txt", file1Bis);
+        SeerUtils.updateZipFile(zipFile, toAdd, Arrays.asList("file2.txt", "sub/"));
+
+        File targetDir = new File(dir, "unzipped");
+        SeerUtils.unzipFile(zipFile, targetDir);
+        Assert.assertEquals("FILE1-BIS", SeerUtils.readFile(new File(targetDir, "file1.txt")));
+        Assert.assertEquals("FILE4", SeerUtils.readFile(new File(targetDir, "file4.txt")));
+        Assert.assertFalse(new File(targetDir, "file2.txt").exists());
+        Assert.assertFalse(new File(targetDir, "sub").exists());
+
+        // no temporary file should be left behind
+        File[] files = dir.listFiles((d, name) -> name.endsWith(".tmp"));
+        Assert.assertNotNull(files);
+        Assert.assertEquals(0, files.length);
+    }
+
+    @Test
+    public void testCreateInputStreamReadAhead() throws IOException {
+        File dir = getTestingDirectory();
+        String content = "LINE\n".repeat(100000);
+        for (String name : Arrays.asList("read-ahead.txt", "read-ahead.txt.gz")) {
+            File file = new File(dir, name);
+            try (Writer writer = new OutputStreamWriter(SeerUtils.createOutputStream(file), StandardCharsets.US_ASCII)) {
+                writer.write(content);
+            }
+            try (InputStream is = SeerUtils.createInputStream(file, null, true)) {
+                Assert.assertEquals(content, new String(is.readAllBytes(), StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    @Test
+    public void testCreateInputStreamFormats() throws IOException {
+        File dir = new File(getTestingDirectory(), "test-formats");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(dir.mkdir());
+
+        String content = "LINE\n".repeat(10000);
+        for (String extension : Arrays.asList(".txt", ".gz", ".lz4", ".sz")) {
+            File file = new File(dir, "file" + extension);
+            try (Writer writer = new OutputStreamWriter(SeerUtils.createOutputStream(file), StandardCharsets.US_ASCII)) {
+                writer.write(content);
+            }
+            try (InputStream is = SeerUtils.createInputStream(file)) {
+                Assert.assertEquals(content, new String(is.readAllBytes(), StandardCharsets.US_ASCII));
+            }
+
+            // the format is detected from the content, not the extension
+            File mislabeled = new File(dir, "mislabeled-" + extension.substring(1) + ".dat");
+            Files.copy(file.toPath(), mislabeled.toPath());
+            try (InputStream is = SeerUtils.createInputStream(mislabeled)) {
+                Assert.assertEquals(content, new String(is.readAllBytes(), StandardCharsets.US_ASCII));
+            }
+
+            // also inside a zip file
+            File zipFile = new File(dir, "file-" + extension.substring(1) + ".zip");
+            SeerUtils.zipFile(mislabeled, zipFile);
+            try (InputStream is = SeerUtils.createInputStream(zipFile)) {
+                Assert.assertEquals(content, new String(is.readAllBytes(), StandardCharsets.US_ASCII));
+            }
+        }
+
+        Assert.assertTrue(new File(dir, "file.lz4").length() < content.length() / 10);
+        Assert.assertTrue(new File(dir, "file.sz").length() < content.length() / 10);
+
+        // zip-based files that are not zip files (jar, xlsx, etc...) are returned as they are, on disk, inside a zip file or as a stream
+        File archive = new File(dir, "archive.xlsx");
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(archive.toPath()))) {
+            for (String entry : Arrays.asList("[Content_Types].xml", "xl/workbook.xml")) {
+                zos.putNextEntry(new ZipEntry(entry));
+                zos.write(content.getBytes(StandardCharsets.US_ASCII));
+                zos.closeEntry();
+            }
+        }
+        byte[] archiveBytes = Files.readAllBytes(archive.toPath());
+        try (InputStream is = SeerUtils.createInputStream(archive)) {
+            Assert.assertArrayEquals(archiveBytes, is.readAllBytes());
+        }
+        File archiveZip = new File(dir, "archive.zip");
+        SeerUtils.zipFile(archive, archiveZip);
+        try (InputStream is = SeerUtils.createInputStream(archiveZip)) {
+            Assert.assertArrayEquals(archiveBytes, is.readAllBytes());
+        }
+        try (InputStream is = SeerUtils.createInputStream(new ByteArrayInputStream(archiveBytes), "lib.jar")) {
+            Assert.assertArrayEquals(archiveBytes, is.readAllBytes());
+        }
+        Assert.assertThrows(IOException.class, () -> SeerUtils.createInputStream(new ByteArrayInputStream(archiveBytes), "archive.zip"));
+
+        File fastFile = new File(dir, "fast.gz");
+        try (Writer writer = new OutputStreamWriter(SeerUtils.createOutputStream(fastFile, Deflater.BEST_SPEED), StandardCharsets.US_ASCII)) {
+            writer.write(content);
+        }
+        try (InputStream is = SeerUtils.createInputStream(fastFile)) {
+            Assert.assertEquals(content, new String(is.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void testReadFile() throws IOException {
+        File dir = new File(getTestingDirectory(), "test-read");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(dir.mkdir());
+
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 20000; i++)
+            buf.append("LINE ").append(i).append(i % 3 == 0 ? " \u00e9t\u00e9" : "").append(i % 7 == 0 ? " \ud83d\ude00" : "").append('\n');
+        String content = buf.toString();
+
+        for (String extension : Arrays.asList(".txt", ".gz", ".sz")) {
+            File file = new File(dir, "file" + extension);
+            try (Writer writer = new OutputStreamWriter(SeerUtils.createOutputStream(file), StandardCharsets.UTF_8)) {
+                writer.write(content);
+            }
+            Assert.assertEquals(content, SeerUtils.readFile(file, "UTF-8"));
+
+            StringBuilder chunks = new StringBuilder();
+            SeerUtils.readFileChunks(file, "UTF-8", 1001, chunk -> {
+                Assert.assertTrue(chunk.remaining() <= 1001);
+                chunks.append(chunk);
+            });
+            Assert.assertEquals(content, chunks.toString());
+        }
+
+        // the uncompressed size recorded by the last member of a concatenated GZip file is only a hint
+        File concatenated = new File(dir, "concatenated.gz");
+        try (OutputStream os = Files.newOutputStream(concatenated.toPath())) {
+            Files.copy(new File(dir, "file.gz").toPath(), os);
+            Files.copy(new File(dir, "file.gz").toPath(), os);
+        }
+        Assert.assertEquals(content + content, SeerUtils.readFile(concatenated, "UTF-8"));
+
+        // a corrupted trailer claiming a huge uncompressed size doesn't make the read allocate it
+        File corrupted = new File(dir, "corrupted.gz");
+        byte[] gzipped = Files.readAllBytes(new File(dir, "file.gz").toPath());
+        gzipped[gzipped.length - 1] = 0x7F;
+        Files.write(corrupted.toPath(), gzipped);
+        Assert.assertThrows(IOException.class, () -> SeerUtils.readFile(corrupted, "UTF-8"));
+        ByteArrayOutputStream emptyGzip = new ByteArrayOutputStream();
+        new GZIPOutputStream(emptyGzip).close();
+        gzipped = emptyGzip.toByteArray();
+        gzipped[gzipped.length - 1] = 0x7F;
+        Files.write(corrupted.toPath(), gzipped);
+        Assert.assertThrows(IOException.class, () -> SeerUtils.readFile(corrupted, "UTF-8"));
+
+        // empty and malformed files
+        File empty = new File(dir, "empty.txt");
+        Files.write(empty.toPath(), new byte[0]);
+        Assert.assertEquals("", SeerUtils.readFile(empty));
+        List<String> emptyChunks = new ArrayList<>();
+        SeerUtils.readFileChunks(empty, null, 10, chunk -> emptyChunks.add(chunk.toString()));
+        Assert.assertTrue(emptyChunks.isEmpty());
+        File malformed = new File(dir, "malformed.txt");
+        Files.write(malformed.toPath(), new byte[] {'A', (byte)0xC3});
+        Assert.assertEquals("A\ufffd", SeerUtils.readFile(malformed, "UTF-8"));
+        StringBuilder malformedChunks = new StringBuilder();
+        SeerUtils.readFileChunks(malformed, "UTF-8", 10, malformedChunks::append);
+        Assert.assertEquals("A\ufffd", malformedChunks.toString());
+    }
+
+    @Test
+    public void testWriteFile() throws IOException {
+        File dir = new File(getTestingDirectory(), "test-write");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(dir.mkdir());
+
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 20000; i++)
+            buf.append("LINE ").append(i).append(i % 3 == 0 ? " \u00e9t\u00e9" : "").append(i % 7 == 0 ? " \ud83d\ude00" : "").append('\n');
+        String content = buf.toString();
+
+        // the compression is based on the extension, for any kind of character sequence (the LZ4 encoder is slow, so it gets a small content)
+        for (String extension : Arrays.asList(".txt", ".gz", ".zip", ".sz")) {
+            File file = new File(dir, "file" + extension);
+            SeerUtils.writeFile(content, file, "UTF-8");
+            Assert.assertEquals(content, SeerUtils.readFile(file, "UTF-8"));
+            SeerUtils.writeFile(buf, file, "UTF-8", new FileWriteOptions());
+            Assert.assertEquals(content, SeerUtils.readFile(file, "UTF-8"));
+            SeerUtils.writeFile(CharBuffer.wrap(content), file, "UTF-8", new FileWriteOptions());
+            Assert.assertEquals(content, SeerUtils.readFile(file, "UTF-8"));
+        }
+        File lz4File = new File(dir, "file.lz4");
+        SeerUtils.writeFile(content.substring(0, 300), lz4File, "UTF-8", new FileWriteOptions());
+        Assert.assertEquals(content.substring(0, 300), SeerUtils.readFile(lz4File, "UTF-8"));
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(new File(dir, "file.zip").toPath()))) {
+            Assert.assertEquals("file", zis.getNextEntry().getName());
+        }
+
+        // unmappable characters are replaced, and an existing file is truncated
+        File file = new File(dir, "file.txt");
+        SeerUtils.writeFile("A\u00e9", file, "US-ASCII");
+        Assert.assertEquals("A?", SeerUtils.readFile(file, "US-ASCII"));
+        SeerUtils.writeFile("", file, null);
+        Assert.assertEquals(0, file.length());
+
+        // atomic and synchronized writes
+        FileWriteOptions options = new FileWriteOptions();
+        options.setAtomic(true);
+        options.setSync(true);
+        Map<File, String> contents = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++)
+            contents.put(new File(dir, "small" + i + ".txt"), "SMALL " + i);
+        contents.put(file, content);
+        SeerUtils.writeFiles(contents, "UTF-8", options);
+        for (Map.Entry<File, String> entry : contents.entrySet())
+            Assert.assertEquals(entry.getValue(), SeerUtils.readFile(entry.getKey(), "UTF-8"));
+        SeerUtils.writeFile("NEW", file, null, options);
+        Assert.assertEquals("NEW", SeerUtils.readFile(file));
+
+        // a failure doesn't replace any target and doesn't leave any temporary file
+        contents.clear();
+        contents.put(file, "UPDATED");
+        contents.put(new File(dir, "missing/file.txt"), "UPDATED");
+        Assert.assertThrows(IOException.class, () -> SeerUtils.writeFiles(contents, null, options));
+        Assert.assertEquals("NEW", SeerUtils.readFile(file));
+        try (Stream<Path> files = Files.list(dir.toPath())) {
+            Assert.assertEquals(0, files.filter(f -> f.getFileName().toString().endsWith(".tmp")).count());
+        }
+    }
+
+    @Test
+    public void testAsyncOperations() throws Exception {
+        File dir = new File(getTestingDirectory(), "test-async");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(dir.mkdir());
+
+        // many concurrent writes and reads, more than the number of operations allowed to run at the same time
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 500; i++)
+            writes.add(SeerUtils.writeFileAsync("CONTENT " + i, new File(dir, "file" + i + (i % 2 == 0 ? ".txt" : ".gz")), "UTF-8", new FileWriteOptions()));
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).get(1, TimeUnit.MINUTES);
+        List<CompletableFuture<String>> reads = new ArrayList<>();
+        for (int i = 0; i < 500; i++)
+            reads.add(SeerUtils.readFileAsync(new File(dir, "file" + i + (i % 2 == 0 ? ".txt" : ".gz")), "UTF-8"));
+        for (int i = 0; i < 500; i++)
+            Assert.assertEquals("CONTENT " + i, reads.get(i).get(1, TimeUnit.MINUTES));
+
+        // streams
+        try (InputStream is = SeerUtils.createInputStreamAsync(new File(dir, "file1.gz"), null).get(1, TimeUnit.MINUTES)) {
+            Assert.assertEquals("CONTENT 1", new String(is.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        // a failure completes the future exceptionally with the original exception
+        ExecutionException e = Assert.assertThrows(ExecutionException.class, () -> SeerUtils.readFileAsync(new File(dir, "missing.txt"), "UTF-8").get());
+        Assert.assertTrue(e.getCause() instanceof IOException);
+
+        // provided executor
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SeerUtils.writeFileAsync("OTHER", new File(dir, "other.txt"), null, new FileWriteOptions(), executor).get(1, TimeUnit.MINUTES);
+            Assert.assertEquals("OTHER", SeerUtils.readFileAsync(new File(dir, "other.txt"), null, executor).get(1, TimeUnit.MINUTES));
+            try (InputStream is = SeerUtils.createInputStreamAsync(new File(dir, "other.txt"), null, executor).get(1, TimeUnit.MINUTES)) {
+                Assert.assertEquals("OTHER", new String(is.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        // an executor rejecting the operation completes the future exceptionally
+        CompletableFuture<String> rejected = SeerUtils.readFileAsync(new File(dir, "other.txt"), null, r -> {
+            throw new RejectedExecutionException();
+        });
+        e = Assert.assertThrows(ExecutionException.class, rejected::get);
+        Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testProfileFile() throws IOException {
+        File dir = new File(getTestingDirectory(), "test-profile");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(dir.mkdir());
+
+        // small files
+        File file = new File(dir, "small.txt");
+        Files.write(file.toPath(), new byte[0]);
+        FileProfile profile = SeerUtils.profileFile(file);
+        Assert.assertEquals(0, profile.getNumLines());
+        Assert.assertEquals(FileProfile.LineEnding.NONE, profile.getLineEnding());
+        Assert.assertTrue(profile.isPureAscii());
+        Files.writeString(file.toPath(), "ABC\r\nDE\u00e9\r\n\r\nFGH", StandardCharsets.UTF_8);
+        profile = SeerUtils.profileFile(file);
+        Assert.assertEquals(4, profile.getNumLines());
+        Assert.assertEquals(0, profile.getMinLineLength());
+        Assert.assertEquals(4, profile.getMaxLineLength());
+        Assert.assertEquals(FileProfile.LineEnding.CRLF, profile.getLineEnding());
+        Assert.assertEquals(Map.of(0, 1L, 3, 2L, 4, 1L), profile.getLineLengths());
+        Assert.assertEquals(2, profile.getNumNonAsciiBytes());
+        Assert.assertEquals(7, profile.getNonAsciiBytes().get(0).getOffset());
+        Assert.assertEquals(2, profile.getNonAsciiBytes().get(0).getLineNumber());
+        Assert.assertEquals(0xC3, profile.getNonAsciiBytes().get(0).getValue());
+        Files.writeString(file.toPath(), "A\rB\nC\r", StandardCharsets.US_ASCII);
+        profile = SeerUtils.profileFile(file);
+        Assert.assertEquals(3, profile.getNumLines());
+        Assert.assertEquals(2, profile.getNumCrEndings());
+        Assert.assertEquals(FileProfile.LineEnding.MIXED, profile.getLineEnding());
+
+        // a large file, profiled in chunks, compared to a simple scan of its bytes
+        Random random = new Random(11);
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        while (buf.size() < 20 * 1024 * 1024) {
+            int length = random.nextInt(10) == 0 ? random.nextInt(3000) : 200;
+            for (int i = 0; i < length; i++)
+                buf.write(random.nextInt(50000) == 0 ? random.nextInt(32) : 32 + random.nextInt(95));
+            int ending = random.nextInt(100);
+            buf.writeBytes(ending < 90 ? new byte[] {'\n'} : ending < 98 ? new byte[] {'\r', '\n'} : new byte[] {'\r'});
+        }
+        byte[] data = buf.toByteArray();
+        file = new File(dir, "large.txt");
+        Files.write(file.toPath(), data);
+        File gzFile = new File(dir, "large.txt.gz");
+        try (OutputStream os = SeerUtils.createOutputStream(gzFile)) {
+            os.write(data);
+        }
+
+        long numLines = 0;
+        long numCrEndings = 0;
+        int maxLength = 0;
+        int length = 0;
+        List<Long> nonAscii = new ArrayList<>();
+        for (int i = 0; i < data.length; i++) {
+            byte b = data[i];
+            if (b == '\n' || b == '\r') {
+                if (b == '\r' && (i + 1 == data.length || data[i + 1] != '\n'))
+                    numCrEndings++;
+                if (b == '\r' && i + 1 < data.length && data[i + 1] == '\n')
+                    i++;
+                numLines++;
+                maxLength = Math.max(maxLength, length);
+                length = 0;
+            }
+            else {
+                if (!SeerUtils.isPureAscii(new byte[] {b}))
+                    nonAscii.add(i * 1000000L + numLines + 1);
+                length++;
+            }
+        }
+
+        for (FileProfile p : Arrays.asList(SeerUtils.profileFile(file, 1000, 1), SeerUtils.profileFile(file, 1000, 4), SeerUtils.profileFile(gzFile, 1000, 2))) {
+            Assert.assertEquals(data.length, p.getNumBytes());
+            Assert.assertEquals(numLines, p.getNumLines());
+            Assert.assertEquals(numCrEndings, p.getNumCrEndings());
+            Assert.assertEquals(numLines, p.getNumLfEndings() + p.getNumCrLfEndings() + p.getNumCrEndings());
+            Assert.assertEquals(numLines, p.getLineLengths().values().stream().mapToLong(Long::longValue).sum());
+            Assert.assertEquals(maxLength, p.getMaxLineLength());
+            Assert.assertEquals(FileProfile.LineEnding.MIXED, p.getLineEnding());
+            Assert.assertEquals(nonAscii.size(), p.getNumNonAsciiBytes());
+            Assert.assertEquals(nonAscii, p.getNonAsciiBytes().stream().map(b -> b.getOffset() * 1000000L + b.getLineNumber()).toList());
+        }
+        Assert.assertEquals(3, SeerUtils.profileFile(file, 3, 4).getNonAsciiBytes().size());
+
+        Assert.assertThrows(IOException.class, () -> SeerUtils.profileFile(new File(dir, "missing.txt")));
+    }
+
+    @Test
+    public void testCreateMultiFileInputStream() throws IOException {
+        File dir = new File(getTestingDirectory(), "test-multi-files");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        Assert.assertTrue(dir.mkdir());
+
+        // parts using different compressions, plus a file that isn't part of the data
+        StringBuilder expected = new StringBuilder();
+        List<String> names = Arrays.asList("part-01.txt.gz", "part-02.txt", "part-03.txt.lz4", "part-04.txt.gz", "part-05.txt.zip");
+        for (int i = 0; i < names.size(); i++) {
+            StringBuilder content = new StringBuilder();
+            for (int line = 0; line < 20000; line++)
+                content.append("PART ").append(i).append(" LINE ").append(line).append("\n");
+            expected.append(content);
+            File file = new File(dir, names.get(i));
+            if (names.get(i).endsWith(".zip")) {
+                File entry = new File(dir, "entry.txt");
+                FileUtils.writeStringToFile(entry, content.toString(), StandardCharsets.US_ASCII);
+                SeerUtils.zipFile(entry, file);
+                Assert.assertTrue(entry.delete());
+            }
+            else
+                try (Writer writer = new OutputStreamWriter(SeerUtils.createOutputStream(file), StandardCharsets.US_ASCII)) {
+                    writer.write(content.toString());
+                }
+        }
+        FileUtils.writeStringToFile(new File(dir, "other.txt"), "OTHER", StandardCharsets.US_ASCII);
+
+        List<File> files = SeerUtils.listFiles(dir, "part-*");
+        Assert.assertEquals(names, files.stream().map(File::getName).toList());
+        Assert.assertEquals(6, SeerUtils.listFiles(dir, null).size());
+
+        for (int numPrefetch : new int[] {0, 1, 3, 10}) {
+            try (InputStream is = SeerUtils.createInputStream(files, numPrefetch)) {
+                Assert.assertEquals(expected.toString(), new String(is.readAllBytes(), StandardCharsets.US_ASCII));
+            }
+        }
+
+        // closing the stream early
+        try (InputStream is = SeerUtils.createInputStream(files, 3)) {
+            Assert.assertEquals('P', is.read());
+        }
+
+        Assert.assertThrows(IOException.class, () -> SeerUtils.createInputStream(Arrays.asList(files.get(0), new File(dir, "missing.gz")), 2));
+    }
+
     private File getTestingDirectory() {
         File workingDir = new File(System.getProperty("user.dir"));
         if (!workingDir.exists())
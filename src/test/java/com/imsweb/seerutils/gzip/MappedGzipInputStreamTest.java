@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappedGzipInputStreamTest {
+
+    @Test
+    public void testMappedGzipInputStream() throws IOException {
+        File dir = new File(System.getProperty("user.dir") + "/build/test-data");
+        if (!dir.exists() && !dir.mkdirs())
+            Assert.fail("Unable to create test directory!");
+
+        byte[] data = ParallelGzipOutputStreamTest.createData(1024 * 1024 + 3);
+
+        // two members followed by some garbage
+        File file = new File(dir, "mapped.gz");
+        try (OutputStream os = Files.newOutputStream(file.toPath())) {
+            for (int offset = 0; offset < data.length; offset += 600 * 1024) {
+                GZIPOutputStream gzos = new GZIPOutputStream(os) {
+                    @Override
+                    public void close() throws IOException {
+                        finish();
+                    }
+                };
+                gzos.write(data, offset, Math.min(600 * 1024, data.length - offset));
+                gzos.close();
+            }
+            os.write(new byte[] {1, 2, 3});
+        }
+
+        try (InputStream is = new MappedGzipInputStream(file.toPath())) {
+            Assert.assertArrayEquals(data, is.readAllBytes());
+            Assert.assertEquals(-1, is.read());
+        }
+
+        // decompress into a direct buffer
+        try (MappedGzipInputStream channel = new MappedGzipInputStream(file.toPath())) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(10000);
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                byte[] chunk = new byte[buffer.remaining()];
+                buffer.get(chunk);
+                result.write(chunk);
+                buffer.clear();
+            }
+            Assert.assertArrayEquals(data, result.toByteArray());
+        }
+
+        // corrupted checksum
+        File corruptedFile = new File(dir, "mapped-corrupted.gz");
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(corruptedFile.toPath()))) {
+            os.write(data);
+        }
+        byte[] content = Files.readAllBytes(corruptedFile.toPath());
+        content[content.length - 8] ^= 1;
+        Files.write(corruptedFile.toPath(), content);
+        try (InputStream is = new MappedGzipInputStream(corruptedFile.toPath())) {
+            is.readAllBytes();
+            Assert.fail("Should have failed");
+        }
+        catch (ZipException e) {
+            // expected
+        }
+
+        // not a GZIP file
+        File textFile = new File(dir, "mapped.txt");
+        Files.write(textFile.toPath(), Arrays.copyOf(data, 100));
+        try (InputStream ignored = new MappedGzipInputStream(textFile.toPath())) {
+            Assert.fail("Should have failed");
+        }
+        catch (ZipException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelGzipInputStreamTest {
+
+    @Test
+    public void testParallelGzipInputStream() throws IOException {
+        File dir = new File(System.getProperty("user.dir") + "/build/test-data");
+        if (!dir.exists() && !dir.mkdirs())
+            Assert.fail("Unable to create test directory!");
+
+        byte[] data = ParallelGzipOutputStreamTest.createData(3 * 1024 * 1024 + 17);
+
+        // several members, the first one stored so its compressed data contains the GZip signature
+        byte[] signature = {0x1f, (byte)0x8b, 8, 0, 0, 0, 0, 0, 0, 0};
+        System.arraycopy(signature, 0, data, 1000, signature.length);
+        File file = new File(dir, "multi-member.gz");
+        try (OutputStream os = Files.newOutputStream(file.toPath())) {
+            writeStoredMember(os, data, 1000 + signature.length);
+            int memberSize = 300 * 1024;
+            for (int offset = 1000 + signature.length; offset < data.length; offset += memberSize) {
+                GZIPOutputStream gzos = new GZIPOutputStream(os) {
+                    @Override
+                    public void close() throws IOException {
+                        finish();
+                    }
+                };
+                gzos.write(data, offset, Math.min(memberSize, data.length - offset));
+                gzos.close();
+            }
+        }
+
+        for (int numThreads : new int[] {1, 4}) {
+            try (ParallelGzipInputStream is = new ParallelGzipInputStream(file.toPath(), numThreads)) {
+                Assert.assertArrayEquals(data, is.readAllBytes());
+                // the following members are decompressed while the previous ones are read
+                if (numThreads == 1)
+                    Assert.assertEquals(0, is.getNumMembersReadAhead());
+                else
+                    Assert.assertTrue(is.getNumMembersReadAhead() > 0);
+            }
+        }
+
+        // even a file made of two members is decompressed on two threads
+        byte[] twoMembers = ParallelGzipOutputStreamTest.createData(4 * 1024 * 1024);
+        File twoMembersFile = new File(dir, "two-members.gz");
+        try (OutputStream os = Files.newOutputStream(twoMembersFile.toPath())) {
+            for (int offset = 0; offset < twoMembers.length; offset += twoMembers.length / 2) {
+                GZIPOutputStream gzos = new GZIPOutputStream(os) {
+                    @Override
+                    public void close() throws IOException {
+                        finish();
+                    }
+                };
+                gzos.write(twoMembers, offset, twoMembers.length / 2);
+                gzos.close();
+            }
+        }
+        try (ParallelGzipInputStream is = new ParallelGzipInputStream(twoMembersFile.toPath(), 2)) {
+            Assert.assertArrayEquals(twoMembers, is.readAllBytes());
+            Assert.assertEquals(1, is.getNumMembersReadAhead());
+        }
+
+        // trailing garbage is ignored, like GZIPInputStream does
+        byte[] withGarbage = Arrays.copyOf(Files.readAllBytes(file.toPath()), (int)file.length() + 5);
+        File garbageFile = new File(dir, "multi-member-garbage.gz");
+        Files.write(garbageFile.toPath(), withGarbage);
+        try (InputStream is = new ParallelGzipInputStream(garbageFile.toPath(), 4)) {
+            Assert.assertArrayEquals(data, is.readAllBytes());
+        }
+
+        // not a GZip file
+        File notGzipFile = new File(dir, "not-gzip.gz");
+        Files.write(notGzipFile.toPath(), data);
+        try (InputStream is = new ParallelGzipInputStream(notGzipFile.toPath(), 4)) {
+            Assert.assertThrows(ZipException.class, is::readAllBytes);
+        }
+
+        // corrupted trailer
+        byte[] corrupted = Files.readAllBytes(file.toPath());
+        corrupted[corrupted.length - 5]++;
+        Files.write(notGzipFile.toPath(), corrupted);
+        try (InputStream is = new ParallelGzipInputStream(notGzipFile.toPath(), 4)) {
+            Assert.assertThrows(ZipException.class, is::readAllBytes);
+        }
+
+        ByteArrayOutputStream single = new ByteArrayOutputStream();
+        try (OutputStream os = new GZIPOutputStream(single)) {
+            os.write(data);
+        }
+        Files.write(file.toPath(), single.toByteArray());
+        try (InputStream is = new ParallelGzipInputStream(file.toPath(), 4)) {
+            Assert.assertArrayEquals(data, is.readAllBytes());
+        }
+    }
+
+    private static void writeStoredMember(OutputStream os, byte[] data, int length) throws IOException {
+        os.write(new byte[] {0x1f, (byte)0x8b, 8, 0, 0, 0, 0, 0, 0, (byte)0xff});
+        Deflater deflater = new Deflater(Deflater.NO_COMPRESSION, true);
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            byte[] buf = new byte[1024];
+            while (!deflater.finished())
+                os.write(buf, 0, deflater.deflate(buf));
+        }
+        finally {
+            deflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        for (long value : new long[] {crc.getValue(), length})
+            for (int i = 0; i < 4; i++)
+                os.write((int)(value >> (8 * i)) & 0xFF);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelGzipOutputStreamTest {
+
+    @Test
+    public void testParallelGzipOutputStream() throws IOException {
+        byte[] data = createData(1024 * 1024 + 123);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream os = new ParallelGzipOutputStream(compressed, 64 * 1024, 4)) {
+            // write in odd-sized chunks so the blocks boundaries don't match the writes
+            int offset = 0;
+            while (offset < data.length) {
+                int n = Math.min(7919, data.length - offset);
+                os.write(data, offset, n);
+                offset += n;
+            }
+        }
+        Assert.assertTrue(compressed.size() < data.length / 2);
+
+        try (GZIPInputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            Assert.assertArrayEquals(data, is.readAllBytes());
+        }
+
+        // empty stream
+        compressed = new ByteArrayOutputStream();
+        new ParallelGzipOutputStream(compressed, 64 * 1024, 2).close();
+        try (GZIPInputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            Assert.assertEquals(0, is.readAllBytes().length);
+        }
+    }
+
+    static byte[] createData(int size) {
+        Random random = new Random(42);
+        String[] words = {"SEER", "cancer", "registry", "record", "site", "histology", "behavior", "0000", "1234", "\n"};
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        while (out.size() < size) {
+            byte[] word = words[random.nextInt(words.length)].getBytes();
+            out.write(word, 0, Math.min(word.length, size - out.size()));
+            if (out.size() < size)
+                out.write(' ');
+        }
+        return out.toByteArray();
+    }
+}
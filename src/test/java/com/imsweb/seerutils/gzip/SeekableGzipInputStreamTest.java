@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SeekableGzipInputStreamTest {
+
+    @Test
+    public void testSeekableGzipInputStream() throws IOException {
+        File dir = new File(System.getProperty("user.dir") + "/build/test-data");
+        if (!dir.exists() && !dir.mkdirs())
+            Assert.fail("Unable to create test directory!");
+
+        // text data with some random bytes in the middle, so the file contains both compressed and stored blocks
+        byte[] data = ParallelGzipOutputStreamTest.createData(2 * 1024 * 1024 + 11);
+        byte[] noise = new byte[300 * 1024];
+        new Random(7).nextBytes(noise);
+        System.arraycopy(noise, 0, data, 700 * 1024, noise.length);
+
+        // regular file
+        File file = new File(dir, "seekable.gz");
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(file.toPath()))) {
+            os.write(data);
+        }
+        assertSeeks(file, data);
+
+        // sync-flushed blocks
+        File parallelFile = new File(dir, "seekable-parallel.gz");
+        try (OutputStream os = new ParallelGzipOutputStream(Files.newOutputStream(parallelFile.toPath()), 64 * 1024, 2)) {
+            os.write(data);
+        }
+        assertSeeks(parallelFile, data);
+
+        // several members
+        File multiFile = new File(dir, "seekable-multi.gz");
+        try (OutputStream os = Files.newOutputStream(multiFile.toPath())) {
+            for (int offset = 0; offset < data.length; offset += 500 * 1024) {
+                GZIPOutputStream gzos = new GZIPOutputStream(os) {
+                    @Override
+                    public void close() throws IOException {
+                        finish();
+                    }
+                };
+                gzos.write(data, offset, Math.min(500 * 1024, data.length - offset));
+                gzos.close();
+            }
+        }
+        assertSeeks(multiFile, data);
+
+        // the index is saved next to the file, and re-used
+        File indexFile = GzipIndex.getIndexFile(file);
+        Assert.assertTrue(!indexFile.exists() || indexFile.delete());
+        GzipIndex index = GzipIndex.loadOrBuild(file, 128 * 1024);
+        Assert.assertTrue(indexFile.exists());
+        GzipIndex loaded = GzipIndex.load(indexFile);
+        Assert.assertEquals(index.getNumCheckpoints(), loaded.getNumCheckpoints());
+        Assert.assertEquals(data.length, loaded.getUncompressedSize());
+        try (SeekableGzipInputStream is = new SeekableGzipInputStream(file)) {
+            is.seek(1234567);
+            Assert.assertArrayEquals(Arrays.copyOfRange(data, 1234567, 1234567 + 1000), is.readNBytes(1000));
+        }
+
+        // an out-of-date index is not used
+        Assert.assertTrue(file.setLastModified(file.lastModified() - 10000));
+        try {
+            new SeekableGzipInputStream(file, loaded).close();
+            Assert.fail("Should have failed");
+        }
+        catch (IOException e) {
+            // expected
+        }
+        Assert.assertTrue(GzipIndex.loadOrBuild(file).isUpToDate(file));
+        Assert.assertTrue(GzipIndex.load(indexFile).isUpToDate(file));
+    }
+
+    private static void assertSeeks(File file, byte[] data) throws IOException {
+        GzipIndex index = GzipIndex.build(file, 64 * 1024);
+        Assert.assertEquals(data.length, index.getUncompressedSize());
+        Assert.assertTrue(index.getNumCheckpoints() > 10);
+
+        try (SeekableGzipInputStream is = new SeekableGzipInputStream(file, index)) {
+            Assert.assertArrayEquals(data, is.readAllBytes());
+
+            Random random = new Random(13);
+            for (int i = 0; i < 50; i++) {
+                int position = random.nextInt(data.length);
+                int length = Math.min(random.nextInt(200 * 1024), data.length - position);
+                is.seek(position);
+                Assert.assertEquals(position, is.position());
+                Assert.assertArrayEquals(Arrays.copyOfRange(data, position, position + length), is.readNBytes(length));
+            }
+
+            is.seek(data.length);
+            Assert.assertEquals(-1, is.read());
+            is.seek(0);
+            Assert.assertEquals(100, is.skip(100));
+            Assert.assertEquals(data[100], (byte)is.read());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.gzip;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamingGzipOutputStreamTest {
+
+    @Test
+    public void testStreamingGzipOutputStream() throws IOException, InterruptedException {
+        byte[] data = ParallelGzipOutputStreamTest.createData(1024 * 1024);
+
+        // sync flushes based on the amount of data: a reader can decompress everything up to the last flush
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream os = new StreamingGzipOutputStream(compressed, 100 * 1024, null)) {
+            os.write(data, 0, 150 * 1024);
+            Assert.assertArrayEquals(Arrays.copyOf(data, 150 * 1024), readAvailable(compressed.toByteArray()));
+            os.write(data, 150 * 1024, data.length - 150 * 1024);
+        }
+        Assert.assertArrayEquals(data, readAvailable(compressed.toByteArray()));
+        Assert.assertTrue(compressed.size() < data.length / 4);
+
+        // new members based on the time: the data is available even if nothing else is written
+        compressed = new ByteArrayOutputStream();
+        try (OutputStream os = new StreamingGzipOutputStream(compressed, 0, Duration.ofMillis(50), true, Deflater.DEFAULT_COMPRESSION)) {
+            os.write(data, 0, 1000);
+
+            // each member is complete, so the regular GZIP reader can read everything written so far
+            Assert.assertArrayEquals(Arrays.copyOf(data, 1000), waitForMember(compressed));
+            os.write(data, 1000, data.length - 1000);
+        }
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            Assert.assertArrayEquals(data, is.readAllBytes());
+        }
+
+        // an underlying stream that blocks doesn't delay the pushes of the other streams
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream blocking = new ByteArrayOutputStream() {
+            @Override
+            public void flush() throws IOException {
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        compressed = new ByteArrayOutputStream();
+        try (OutputStream stalled = new StreamingGzipOutputStream(blocking, 0, Duration.ofMillis(20), true, Deflater.DEFAULT_COMPRESSION)) {
+            stalled.write(data, 0, 1000);
+            Thread.sleep(100);
+            try (OutputStream os = new StreamingGzipOutputStream(compressed, 0, Duration.ofMillis(50), true, Deflater.DEFAULT_COMPRESSION)) {
+                os.write(data, 0, 1000);
+                Assert.assertArrayEquals(Arrays.copyOf(data, 1000), waitForMember(compressed));
+            }
+            finally {
+                release.countDown();
+            }
+        }
+
+        // empty stream
+        compressed = new ByteArrayOutputStream();
+        new StreamingGzipOutputStream(compressed, 100, Duration.ofSeconds(1)).close();
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            Assert.assertEquals(0, is.readAllBytes().length);
+        }
+    }
+
+    // waits for the written data to be available as complete members, returns the data that can be read (possibly incomplete) after 5 seconds
+    private static byte[] waitForMember(ByteArrayOutputStream compressed) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        while (System.currentTimeMillis() - start < 5000) {
+            try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+                return is.readAllBytes();
+            }
+            catch (EOFException e) {
+                Thread.sleep(10);
+            }
+        }
+        return readAvailable(compressed.toByteArray());
+    }
+
+    // reads the data that can be decompressed, ignoring the end of the stream if it's missing
+    private static byte[] readAvailable(byte[] compressed) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = is.read(buf)) != -1)
+                result.write(buf, 0, n);
+        }
+        catch (EOFException e) {
+            // the stream is still being written
+        }
+        return result.toByteArray();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BufferPoolTest {
+
+    @Test
+    public void testBufferPool() {
+        BufferPool pool = new BufferPool(1000, 2, false);
+
+        // the thread gets its buffer back
+        ByteBuffer buffer = pool.acquire();
+        Assert.assertEquals(1000, buffer.capacity());
+        Assert.assertEquals(1, pool.getNumMisses());
+        buffer.position(10);
+        pool.release(buffer);
+        ByteBuffer buffer2 = pool.acquire();
+        Assert.assertSame(buffer, buffer2);
+        Assert.assertEquals(0, buffer2.position());
+        Assert.assertEquals(1, pool.getNumHits());
+        pool.release(buffer2);
+
+        // the other buffers go to the shared queue, which is bounded
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            buffers.add(pool.acquire());
+        Assert.assertEquals(2, pool.getNumHits());
+        Assert.assertEquals(5, pool.getNumMisses());
+        buffers.forEach(pool::release);
+        Assert.assertEquals(2, pool.getNumPooledBuffers());
+
+        // buffers that don't belong to the pool are ignored
+        pool.acquire();
+        pool.acquire();
+        pool.acquire();
+        pool.release(ByteBuffer.allocate(10));
+        pool.release(ByteBuffer.allocateDirect(1000));
+        pool.release(null);
+        Assert.assertEquals(0, pool.getNumPooledBuffers());
+
+        // direct buffers
+        BufferPool directPool = new BufferPool(1000, 2, true);
+        Assert.assertTrue(directPool.acquire().isDirect());
+
+        // shared pools
+        Assert.assertEquals(BufferPool.SMALL_BUFFER_SIZE, BufferPool.getShared(10).getBufferSize());
+        Assert.assertEquals(BufferPool.MEDIUM_BUFFER_SIZE, BufferPool.getShared(BufferPool.SMALL_BUFFER_SIZE + 1).getBufferSize());
+        Assert.assertEquals(BufferPool.LARGE_BUFFER_SIZE, BufferPool.getShared(BufferPool.LARGE_BUFFER_SIZE).getBufferSize());
+        Assert.assertThrows(IllegalArgumentException.class, () -> BufferPool.getShared(BufferPool.LARGE_BUFFER_SIZE + 1));
+    }
+
+    @Test
+    public void testBufferPoolVirtualThreads() throws Exception {
+        BufferPool pool = new BufferPool(1000, 16, false);
+
+        // virtual threads only use the shared queue
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 100; i++)
+                executor.submit(() -> pool.release(pool.acquire())).get();
+        }
+        Assert.assertEquals(1, pool.getNumMisses());
+        Assert.assertEquals(99, pool.getNumHits());
+        Assert.assertEquals(1, pool.getNumPooledBuffers());
+    }
+}
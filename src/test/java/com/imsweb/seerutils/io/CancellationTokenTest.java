@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CancellationTokenTest {
+
+    @Test
+    public void testCancellationToken() throws Exception {
+        CancellationToken token = new CancellationToken();
+        Assert.assertFalse(token.isCancelled());
+        Assert.assertNull(token.getRemainingTime());
+        token.throwIfCancelled();
+        token.cancel();
+        Assert.assertTrue(token.isCancelled());
+        Assert.assertThrows(InterruptedIOException.class, token::throwIfCancelled);
+
+        token = CancellationToken.withTimeout(Duration.ofMillis(100));
+        Assert.assertFalse(token.isCancelled());
+        Assert.assertTrue(token.getRemainingTime().toMillis() > 0);
+        Thread.sleep(150);
+        Assert.assertTrue(token.isCancelled());
+        Assert.assertEquals(Duration.ZERO, token.getRemainingTime());
+        Assert.assertThrows(InterruptedIOException.class, token::throwIfCancelled);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MultiFileInputStreamTest {
+
+    @Test
+    public void testMultiFileInputStream() throws IOException {
+        List<File> files = Arrays.asList(new File("a"), new File("empty"), new File("b"), new File("c"));
+
+        // the "files" are just their name repeated a few times
+        for (int numPrefetch : new int[] {0, 1, 2, 5}) {
+            try (InputStream is = new MultiFileInputStream(files, f -> createContent(f.getName()), numPrefetch)) {
+                String expected = "a".repeat(10000) + "b".repeat(10000) + "c".repeat(10000);
+                Assert.assertEquals(expected, new String(is.readAllBytes(), StandardCharsets.US_ASCII));
+                Assert.assertEquals(-1, is.read());
+            }
+        }
+
+        // no files
+        try (InputStream is = new MultiFileInputStream(Collections.emptyList(), f -> createContent(f.getName()), 2)) {
+            Assert.assertEquals(-1, is.read());
+        }
+
+        // an error opening a file is reported once the stream reaches that file
+        try (InputStream is = new MultiFileInputStream(files, f -> {
+            if (f.getName().equals("b"))
+                throw new IOException("Can't open b");
+            return createContent(f.getName());
+        }, 2)) {
+            byte[] buffer = new byte[10000];
+            Assert.assertEquals(10000, is.readNBytes(buffer, 0, buffer.length));
+            is.read();
+            Assert.fail("Should have failed");
+        }
+        catch (IOException e) {
+            Assert.assertEquals("Can't open b", e.getMessage());
+        }
+    }
+
+    private static InputStream createContent(String name) {
+        return new ByteArrayInputStream(name.equals("empty") ? new byte[0] : name.repeat(10000).getBytes(StandardCharsets.US_ASCII));
+    }
+}
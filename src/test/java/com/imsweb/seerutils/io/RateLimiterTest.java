@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RateLimiterTest {
+
+    @Test
+    public void testRateLimiter() throws Exception {
+        RateLimiter limiter = new RateLimiter(1024 * 1024, 64 * 1024);
+        Assert.assertEquals(1024 * 1024, limiter.getBytesPerSecond());
+        Assert.assertEquals(64 * 1024, limiter.getMaxBurst());
+
+        // the burst doesn't wait
+        long start = System.nanoTime();
+        limiter.acquire(64 * 1024);
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 50);
+
+        // 512KB shared by 4 threads should take about half a second
+        start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++)
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 8; j++)
+                        limiter.acquire(16 * 1024);
+                    return null;
+                }));
+            for (Future<?> future : futures)
+                future.get();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertTrue(String.valueOf(elapsed), elapsed >= 400 && elapsed < 2000);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new RateLimiter(10, 0));
+    }
+
+    @Test
+    public void testRateLimiterInterrupted() throws Exception {
+        RateLimiter limiter = new RateLimiter(10);
+        AtomicReference<Exception> exception = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                limiter.acquire(1000);
+            }
+            catch (InterruptedIOException e) {
+                exception.set(e);
+            }
+        });
+        thread.start();
+        thread.interrupt();
+        thread.join(5000);
+        Assert.assertFalse(thread.isAlive());
+        Assert.assertTrue(exception.get() instanceof InterruptedIOException);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReadAheadInputStreamTest {
+
+    @Test
+    public void testReadAheadInputStream() throws IOException {
+        byte[] data = new byte[1024 * 1024 + 7];
+        new Random(42).nextBytes(data);
+
+        // small buffers so they get re-used many times
+        try (InputStream is = new ReadAheadInputStream(new ByteArrayInputStream(data), 1000, 3)) {
+            Assert.assertArrayEquals(data, is.readAllBytes());
+            Assert.assertEquals(-1, is.read());
+        }
+
+        // data size matching the buffers
+        try (InputStream is = new ReadAheadInputStream(new ByteArrayInputStream(new byte[4000]), 1000, 2)) {
+            Assert.assertEquals(4000, is.readAllBytes().length);
+        }
+
+        // empty data
+        try (InputStream is = new ReadAheadInputStream(new ByteArrayInputStream(new byte[0]))) {
+            Assert.assertEquals(-1, is.read());
+        }
+
+        // closing the stream before reading everything stops the background thread
+        InputStream is = new ReadAheadInputStream(new ByteArrayInputStream(data), 1000, 2);
+        Assert.assertEquals(data[0], (byte)is.read());
+        is.close();
+        try {
+            is.read();
+            Assert.fail("Should have failed");
+        }
+        catch (IOException e) {
+            // expected
+        }
+
+        // the errors are reported to the caller
+        InputStream failing = new InputStream() {
+            private int _count;
+
+            @Override
+            public int read() throws IOException {
+                if (_count++ >= 2500)
+                    throw new IOException("Failure");
+                return 1;
+            }
+        };
+        try (InputStream is2 = new ReadAheadInputStream(failing, 1000, 2)) {
+            is2.readAllBytes();
+            Assert.fail("Should have failed");
+        }
+        catch (IOException e) {
+            Assert.assertEquals("Failure", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Information Management Services, Inc.
+ */
+package com.imsweb.seerutils.zip;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.ReadOnlyFileSystemException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.imsweb.seerutils.SeerUtils;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+public class ZipSecureFileSystemTest {
+
+    @Test
+    public void testZipSecureFileSystem() throws IOException {
+        File dir = new File(System.getProperty("user.dir") + "/build/test-zip-fs");
+        if (dir.exists())
+            FileUtils.deleteDirectory(dir);
+        File subDir = new File(dir, "data/sub");
+        if (!subDir.mkdirs())
+            Assert.fail("Unable to create test directory!");
+        SeerUtils.writeFile("line1\nline2\nline3", new File(dir, "data/f1.txt"));
+        SeerUtils.writeFile("test2", new File(subDir, "f2.txt"));
+
+        File zipFile = new File(dir, "test.zip");
+        SeerUtils.zipFile(new File(dir, "data"), zipFile);
+
+        try (ZipSecureFileSystem fs = ZipSecureFileSystem.newFileSystem(zipFile)) {
+            Path f1 = fs.getPath("/data/f1.txt");
+            Assert.assertTrue(Files.exists(f1));
+            Assert.assertTrue(Files.isRegularFile(f1));
+            Assert.assertEquals(17, Files.size(f1));
+            Assert.assertEquals(List.of("line1", "line2", "line3"), Files.readAllLines(f1, US_ASCII));
+            try (Stream<String> lines = Files.lines(f1, US_ASCII)) {
+                Assert.assertEquals(3, lines.count());
+            }
+            Assert.assertEquals("test2", Files.readString(fs.getPath("/data", "sub", "f2.txt"), US_ASCII));
+
+            Assert.assertTrue(Files.isDirectory(fs.getPath("/data/sub")));
+            Assert.assertFalse(Files.exists(fs.getPath("/data/other.txt")));
+            try (Stream<Path> paths = Files.walk(fs.getPath("/"))) {
+                Assert.assertEquals(List.of("/", "/data", "/data/f1.txt", "/data/sub", "/data/sub/f2.txt"), paths.map(Path::toString).sorted().toList());
+            }
+
+            Assert.assertEquals("sub/f2.txt", fs.getPath("/data").relativize(fs.getPath("/data/sub/f2.txt")).toString());
+            Assert.assertEquals("/data/f1.txt", fs.getPath("/data/sub/../f1.txt").normalize().toString());
+            Assert.assertTrue(fs.getPathMatcher("glob:**/*.txt").matches(f1));
+
+            Assert.assertThrows(NoSuchFileException.class, () -> Files.readAllBytes(fs.getPath("/missing.txt")));
+            Assert.assertThrows(ReadOnlyFileSystemException.class, () -> Files.delete(f1));
+        }
+
+        // the entries are read through the zip-bomb guards
+        try (ZipSecureFileSystem fs = ZipSecureFileSystem.newFileSystem(zipFile, 0.0075, 1L)) {
+            Assert.assertThrows(ZipEntryTooLargeException.class, () -> Files.readAllBytes(fs.getPath("/data/f1.txt")));
+            Assert.assertThrows(ZipEntryTooLargeException.class, () -> Files.newInputStream(fs.getPath("/data/f1.txt")).readAllBytes());
+        }
+    }
+}